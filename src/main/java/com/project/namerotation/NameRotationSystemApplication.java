@@ -3,10 +3,12 @@ package com.project.namerotation;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 
 @EntityScan("com.project.namerotationsystem.model")
+@EnableScheduling
 public class NameRotationSystemApplication {
     public static void main(String[] args) {
         SpringApplication.run(NameRotationSystemApplication.class, args);
@@ -1,16 +1,14 @@
 package com.project.namerotation.controller;
 
 import com.project.namerotation.dto.ApiResponse;
-import com.project.namerotation.service.NameService;
-import com.project.namerotation.service.TaskService;
-import com.project.namerotation.service.UserService;
+import com.project.namerotation.service.DashboardStatsService;
+import com.project.namerotation.service.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpSession;
-import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,15 +17,13 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class AdminController {
 
-    private final NameService nameService;
-    private final TaskService taskService;
-    private final UserService userService;
+    private final DashboardStatsService dashboardStatsService;
+    private final PasswordHasher passwordHasher;
 
     @Autowired
-    public AdminController(NameService nameService, TaskService taskService, UserService userService) {
-        this.nameService = nameService;
-        this.taskService = taskService;
-        this.userService = userService;
+    public AdminController(DashboardStatsService dashboardStatsService, PasswordHasher passwordHasher) {
+        this.dashboardStatsService = dashboardStatsService;
+        this.passwordHasher = passwordHasher;
     }
 
     // Check if user is authenticated
@@ -44,16 +40,8 @@ public class AdminController {
         }
 
         try {
-            Map<String, Object> stats = new HashMap<>();
-            
-            // Get statistics
-            stats.put("totalNames", nameService.getAllNames().size());
-            stats.put("activeNames", nameService.getActiveNamesCount());
-            stats.put("tasksToday", taskService.getAllTasksForToday().size());
-            stats.put("normalTasks", taskService.getNormalTasks().size());
-            stats.put("specialTasks", taskService.getSpecialTasks().size());
-            stats.put("currentDate", LocalDate.now().toString());
-            stats.put("latestSessionDate", taskService.getLatestSessionDate());
+            // Get statistics (one aggregate query)
+            Map<String, Object> stats = dashboardStatsService.getStats();
 
             return ResponseEntity.ok(ApiResponse.success("Dashboard data retrieved", stats));
         } catch (Exception e) {
@@ -62,6 +50,17 @@ public class AdminController {
         }
     }
 
+    // Get password hashing pool statistics (queue depth, rejections, wait and hash times)
+    @GetMapping("/password-hashing")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPasswordHashingStats(HttpSession session) {
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success("Password hashing statistics retrieved", passwordHasher.getStats()));
+    }
+
     // Get system info
     @GetMapping("/info")
     public ResponseEntity<ApiResponse<Map<String, String>>> getSystemInfo(HttpSession session) {
@@ -3,9 +3,11 @@ package com.project.namerotation.controller;
 import com.project.namerotation.dto.ApiResponse;
 import com.project.namerotation.dto.LoginRequest;
 import com.project.namerotation.dto.SignupRequest; // Add this import
+import com.project.namerotation.service.PasswordHasher;
 import com.project.namerotation.service.UserService;
 import com.project.namerotationsystem.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -62,6 +64,8 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("User registered successfully", newUser));
 
+        } catch (PasswordHasher.BusyException e) {
+            return busy(e);
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -83,8 +87,8 @@ public class AuthController {
 
             User user = userOptional.get();
 
-            // Verify password
-            if (!userService.verifyPassword(loginRequest.getPassword(), user.getPassword())) {
+            // Verify password (and upgrade its hash to the current work factor)
+            if (!userService.verifyLogin(user, loginRequest.getPassword())) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(ApiResponse.error("Invalid username or password"));
             }
@@ -99,12 +103,21 @@ public class AuthController {
 
             return ResponseEntity.ok(ApiResponse.success("Login successful", user));
 
+        } catch (PasswordHasher.BusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Login failed: " + e.getMessage()));
         }
     }
 
+    // Password hashing is saturated: ask the client to retry shortly instead of waiting
+    private static <T> ResponseEntity<ApiResponse<T>> busy(PasswordHasher.BusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(e.getMessage()));
+    }
+
     // Logout endpoint
     @PostMapping("/logout")
     public ResponseEntity<ApiResponse<String>> logout(HttpSession session) {
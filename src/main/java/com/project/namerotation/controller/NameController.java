@@ -1,17 +1,28 @@
 package com.project.namerotation.controller;
 
 import com.project.namerotation.dto.ApiResponse;
+import com.project.namerotation.dto.NameBulkRequest;
+import com.project.namerotation.dto.NameBulkResult;
 import com.project.namerotation.dto.NameDto;
+import com.project.namerotation.dto.NameImportResult;
+import com.project.namerotation.dto.NameSearchResult;
+import com.project.namerotation.dto.NameWeightRequest;
+import com.project.namerotation.dto.TaskHistoryPage;
+import com.project.namerotation.service.NameImportService;
+import com.project.namerotation.service.NameSearchService;
 import com.project.namerotation.service.NameService;
+import com.project.namerotation.service.TaskHistoryService;
 import com.project.namerotationsystem.model.Name;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/names")
@@ -19,10 +30,17 @@ import java.util.stream.Collectors;
 public class NameController {
 
     private final NameService nameService;
+    private final TaskHistoryService taskHistoryService;
+    private final NameImportService nameImportService;
+    private final NameSearchService nameSearchService;
 
     @Autowired
-    public NameController(NameService nameService) {
+    public NameController(NameService nameService, TaskHistoryService taskHistoryService,
+                          NameImportService nameImportService, NameSearchService nameSearchService) {
         this.nameService = nameService;
+        this.taskHistoryService = taskHistoryService;
+        this.nameImportService = nameImportService;
+        this.nameSearchService = nameSearchService;
     }
 
     // Check if user is authenticated (helper method)
@@ -30,18 +48,18 @@ public class NameController {
         return session.getAttribute("userId") != null;
     }
 
-    // Get all names
+    // Get all names, or only those of one pool
     @GetMapping
-    public ResponseEntity<ApiResponse<List<NameDto>>> getAllNames(HttpSession session) {
+    public ResponseEntity<ApiResponse<List<NameDto>>> getAllNames(
+            @RequestParam(required = false) Long poolId,
+            HttpSession session) {
         if (!isAuthenticated(session)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Authentication required"));
         }
 
         try {
-            List<NameDto> names = nameService.getAllNames().stream()
-                    .map(name -> new NameDto(name.getId(), name.getName()))
-                    .collect(Collectors.toList());
+            List<NameDto> names = poolId != null ? nameService.getNamesInPool(poolId) : nameService.getAllNames();
 
             return ResponseEntity.ok(ApiResponse.success(names));
         } catch (Exception e) {
@@ -50,18 +68,19 @@ public class NameController {
         }
     }
 
-    // Get all active names
+    // Get all active names, or only those of one pool
     @GetMapping("/active")
-    public ResponseEntity<ApiResponse<List<NameDto>>> getActiveNames(HttpSession session) {
+    public ResponseEntity<ApiResponse<List<NameDto>>> getActiveNames(
+            @RequestParam(required = false) Long poolId,
+            HttpSession session) {
         if (!isAuthenticated(session)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Authentication required"));
         }
 
         try {
-            List<NameDto> names = nameService.getAllActiveNames().stream()
-                    .map(name -> new NameDto(name.getId(), name.getName()))
-                    .collect(Collectors.toList());
+            List<NameDto> names = poolId != null
+                    ? nameService.getActiveNamesInPool(poolId) : nameService.getAllActiveNames();
 
             return ResponseEntity.ok(ApiResponse.success(names));
         } catch (Exception e) {
@@ -70,6 +89,28 @@ public class NameController {
         }
     }
 
+    // Search active names for typeahead (poolId omitted = default pool), next in line first.
+    // An empty query returns the next names in line.
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<NameSearchResult>>> searchNames(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long poolId,
+            HttpSession session) {
+
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            return ResponseEntity.ok(ApiResponse.success(nameSearchService.search(q, poolId, limit)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to search names: " + e.getMessage()));
+        }
+    }
+
     // Get names without user accounts
     @GetMapping("/without-accounts")
     public ResponseEntity<ApiResponse<List<NameDto>>> getNamesWithoutAccounts(HttpSession session) {
@@ -79,9 +120,7 @@ public class NameController {
         }
 
         try {
-            List<NameDto> names = nameService.getNamesWithoutUserAccounts().stream()
-                    .map(name -> new NameDto(name.getId(), name.getName()))
-                    .collect(Collectors.toList());
+            List<NameDto> names = nameService.getNamesWithoutUserAccounts();
 
             return ResponseEntity.ok(ApiResponse.success(names));
         } catch (Exception e) {
@@ -110,6 +149,30 @@ public class NameController {
         }
     }
 
+    // Import many names from a CSV or NDJSON request body (poolId omitted = default pool).
+    // The body is read as a stream; rows that were not imported are listed with their line.
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<NameImportResult>> importNames(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long poolId,
+            HttpServletRequest request,
+            HttpSession session) {
+
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            NameImportResult result = nameImportService.importNames(request.getInputStream(), format, poolId);
+            return ResponseEntity.ok(ApiResponse.success(
+                    "Imported " + result.getImported() + " names", result));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to import names: " + e.getMessage()));
+        }
+    }
+
     // Update name
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<NameDto>> updateName(
@@ -133,6 +196,54 @@ public class NameController {
         }
     }
 
+    // Update the rotation weight of a name
+    @PutMapping("/{id}/weight")
+    public ResponseEntity<ApiResponse<NameDto>> updateWeight(
+            @PathVariable Long id,
+            @RequestBody NameWeightRequest request,
+            HttpSession session) {
+
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            Name updatedName = nameService.updateWeight(id, request.getWeight());
+            NameDto result = new NameDto(updatedName.getId(), updatedName.getName());
+
+            return ResponseEntity.ok(ApiResponse.success("Weight updated successfully", result));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to update weight: " + e.getMessage()));
+        }
+    }
+
+    // Get the tasks a name had between two dates (both inclusive), in pages like /api/tasks/history
+    @GetMapping("/{id}/history")
+    public ResponseEntity<ApiResponse<TaskHistoryPage>> getHistory(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size,
+            HttpSession session) {
+
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            TaskHistoryPage page = taskHistoryService.getNameHistory(id, from, to, afterDate, afterId, size);
+            return ResponseEntity.ok(ApiResponse.success(page));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to fetch name history: " + e.getMessage()));
+        }
+    }
+
     // Delete name (soft delete)
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<String>> deleteName(@PathVariable Long id, HttpSession session) {
@@ -150,6 +261,47 @@ public class NameController {
         }
     }
 
+    // Delete many names (and their user accounts) in one request; names with task history
+    // are skipped and listed in the response
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<ApiResponse<NameBulkResult>> bulkDeleteNames(@RequestBody NameBulkRequest request,
+                                                               HttpSession session) {
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            NameBulkResult result = nameService.deleteNames(request.getIds());
+            String message = result.getCount() + " names deleted successfully";
+            if (!result.getSkippedIds().isEmpty()) {
+                message += ", " + result.getSkippedIds().size() + " names with task history kept";
+            }
+            return ResponseEntity.ok(ApiResponse.success(message, result));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to delete names: " + e.getMessage()));
+        }
+    }
+
+    // Take many names out of the rotation in one request
+    @PostMapping("/bulk-deactivate")
+    public ResponseEntity<ApiResponse<Integer>> bulkDeactivateNames(@RequestBody NameBulkRequest request,
+                                                                   HttpSession session) {
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            int deactivated = nameService.deactivateNames(request.getIds());
+            return ResponseEntity.ok(ApiResponse.success(deactivated + " names deactivated successfully", deactivated));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to deactivate names: " + e.getMessage()));
+        }
+    }
+
     // Get count of active names
     @GetMapping("/count")
     public ResponseEntity<ApiResponse<Long>> getActiveNamesCount(HttpSession session) {
@@ -0,0 +1,166 @@
+package com.project.namerotation.controller;
+
+import com.project.namerotation.dto.ApiResponse;
+import com.project.namerotation.dto.NameDto;
+import com.project.namerotation.dto.RotationPoolDto;
+import com.project.namerotation.dto.TaskDto;
+import com.project.namerotation.service.RotationPoolService;
+import com.project.namerotation.service.TaskService;
+import com.project.namerotationsystem.model.Name;
+import com.project.namerotationsystem.model.RotationPool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpSession;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/pools")
+@CrossOrigin(origins = "*")
+public class RotationPoolController {
+
+    private final RotationPoolService rotationPoolService;
+    private final TaskService taskService;
+
+    @Autowired
+    public RotationPoolController(RotationPoolService rotationPoolService, TaskService taskService) {
+        this.rotationPoolService = rotationPoolService;
+        this.taskService = taskService;
+    }
+
+    // Check if user is authenticated
+    private boolean isAuthenticated(HttpSession session) {
+        return session.getAttribute("userId") != null;
+    }
+
+    // Get all pools
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<RotationPoolDto>>> getAllPools(HttpSession session) {
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            List<RotationPoolDto> pools = rotationPoolService.getAllPools().stream()
+                    .map(pool -> new RotationPoolDto(pool.getId(), pool.getName(), pool.getBoardSize()))
+                    .collect(Collectors.toList());
+
+            return ResponseEntity.ok(ApiResponse.success(pools));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to fetch pools: " + e.getMessage()));
+        }
+    }
+
+    // Create a pool
+    @PostMapping
+    public ResponseEntity<ApiResponse<RotationPoolDto>> createPool(@RequestBody RotationPoolDto poolDto, HttpSession session) {
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            RotationPool pool = rotationPoolService.createPool(poolDto.getName(), poolDto.getBoardSize());
+            RotationPoolDto result = new RotationPoolDto(pool.getId(), pool.getName(), pool.getBoardSize());
+
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Pool created successfully", result));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to create pool: " + e.getMessage()));
+        }
+    }
+
+    // Add a name to a pool
+    @PostMapping("/{id}/names")
+    public ResponseEntity<ApiResponse<NameDto>> addName(
+            @PathVariable Long id,
+            @RequestBody NameDto nameDto,
+            HttpSession session) {
+
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            Name savedName = rotationPoolService.addName(id, nameDto.getName());
+            NameDto result = new NameDto(savedName.getId(), savedName.getName());
+
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Name added successfully", result));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to add name: " + e.getMessage()));
+        }
+    }
+
+    // Generate today's board for one pool
+    @PostMapping("/{id}/generate")
+    public ResponseEntity<ApiResponse<String>> generatePool(@PathVariable Long id, HttpSession session) {
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            rotationPoolService.generatePool(id);
+            return ResponseEntity.ok(ApiResponse.success("Tasks generated successfully", null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to generate tasks: " + e.getMessage()));
+        }
+    }
+
+    // Generate today's boards for all pools in parallel
+    @PostMapping("/generate-all")
+    public ResponseEntity<ApiResponse<Map<String, String>>> generateAllPools(HttpSession session) {
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            Map<String, String> failures = rotationPoolService.generateAllPools();
+            String message = failures.isEmpty()
+                    ? "Tasks generated for all pools"
+                    : "Tasks generated, " + failures.size() + " pool(s) failed";
+            return ResponseEntity.ok(ApiResponse.success(message, failures));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to generate pools: " + e.getMessage()));
+        }
+    }
+
+    // Get today's tasks of a pool
+    @GetMapping("/{id}/tasks")
+    public ResponseEntity<ApiResponse<List<TaskDto>>> getPoolTasks(@PathVariable Long id, HttpSession session) {
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            List<TaskDto> tasks = taskService.getPoolTasksForToday(id).stream()
+                    .map(task -> new TaskDto(
+                            task.getId(),
+                            task.getName().getId(),
+                            task.getName().getName(),
+                            task.getTaskName(),
+                            task.getIsSpecialTask()
+                    ))
+                    .collect(Collectors.toList());
+
+            return ResponseEntity.ok(ApiResponse.success(tasks));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to fetch pool tasks: " + e.getMessage()));
+        }
+    }
+}
@@ -1,17 +1,34 @@
 package com.project.namerotation.controller;
 
 import com.project.namerotation.dto.ApiResponse;
+import com.project.namerotation.dto.TaskBoardDto;
 import com.project.namerotation.dto.TaskDisplayRequest;
 import com.project.namerotation.dto.TaskDto;
+import com.project.namerotation.dto.TaskHistoryPage;
+import com.project.namerotation.dto.TaskRegenerateRequest;
 import com.project.namerotation.dto.TaskUpdateRequest;
+import com.project.namerotation.service.TaskBoardBroadcaster;
+import com.project.namerotation.service.TaskBoardCache;
+import com.project.namerotation.service.TaskExportService;
+import com.project.namerotation.service.TaskHistoryService;
 import com.project.namerotation.service.TaskService;
 import com.project.namerotationsystem.model.TaskAssignment;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.servlet.http.HttpSession;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,10 +38,17 @@ import java.util.stream.Collectors;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskBoardBroadcaster taskBoardBroadcaster;
+    private final TaskHistoryService taskHistoryService;
+    private final TaskExportService taskExportService;
 
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskBoardBroadcaster taskBoardBroadcaster,
+                          TaskHistoryService taskHistoryService, TaskExportService taskExportService) {
         this.taskService = taskService;
+        this.taskBoardBroadcaster = taskBoardBroadcaster;
+        this.taskHistoryService = taskHistoryService;
+        this.taskExportService = taskExportService;
     }
 
     // Check if user is authenticated
@@ -32,10 +56,29 @@ public class TaskController {
         return session.getAttribute("userId") != null;
     }
 
+    // Whether an If-None-Match header matches an ETag: "*" or any tag of the list, compared
+    // weakly (RFC 9110 section 13.1.2)
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        for (ETag requested : ETag.parse(ifNoneMatch)) {
+            if (requested.isWildcard() || requested.compare(current, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // Generate tasks for a session
+    // A retried request with the same Idempotency-Key header does not regenerate the board;
+    // the same key with other parameters is refused with 422, and with 409 while another
+    // request with that key is still running
     @PostMapping("/generate")
     public ResponseEntity<ApiResponse<String>> generateTasks(
             @RequestBody TaskDisplayRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             HttpSession session) {
 
         if (!isAuthenticated(session)) {
@@ -44,15 +87,148 @@ public class TaskController {
         }
 
         try {
-            taskService.generateTasks(request.getNumberOfNames());
+            boolean generated = taskService.generateTasks(null, request.getNumberOfNames(), idempotencyKey);
+            if (!generated) {
+                return ResponseEntity.ok(
+                        ApiResponse.success("Tasks were already generated for this request", null));
+            }
             return ResponseEntity.ok(
                     ApiResponse.success("Tasks generated successfully for " + request.getNumberOfNames() + " names", null));
+        } catch (TaskService.IdempotencyKeyReusedException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            if (idempotencyKey == null) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(ApiResponse.error("Failed to generate tasks: " + e.getMessage()));
+            }
+            // Unique key violated: a concurrent request for another session took the key first
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Idempotency key " + idempotencyKey + " is already used by another request"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error("Failed to generate tasks: " + e.getMessage()));
         }
     }
 
+    // Precompute task boards for the next days
+    @PostMapping("/schedule")
+    public ResponseEntity<ApiResponse<List<LocalDate>>> generateSchedule(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam int days,
+            @RequestParam int numberOfNames,
+            HttpSession session) {
+
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            LocalDate startDate = from != null ? from : LocalDate.now();
+            List<LocalDate> sessionDates = taskService.generateSchedule(startDate, days, numberOfNames);
+            return ResponseEntity.ok(
+                    ApiResponse.success("Schedule generated for " + sessionDates.size() + " days", sessionDates));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to generate schedule: " + e.getMessage()));
+        }
+    }
+
+    // Get today's normal and special tasks in one call (poolId omitted = default pool)
+    // Answers 304 Not Modified when If-None-Match matches the current ETag of the board
+    // (checked as in RFC 9110: lists of ETags, weak ETags and "*")
+    @GetMapping("/board")
+    public ResponseEntity<ApiResponse<TaskBoardDto>> getBoard(
+            @RequestParam(required = false) Long poolId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            HttpSession session) {
+
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            TaskBoardCache.CachedBoard board = taskService.getCachedBoard(poolId);
+            if (matchesAny(ifNoneMatch, board.getEtag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(board.getEtag()).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(board.getEtag())
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(ApiResponse.success(board.getBoard()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to fetch task board: " + e.getMessage()));
+        }
+    }
+
+    // Get published tasks between two dates (both inclusive, poolId omitted = default pool),
+    // including archived months. Pass nextAfterDate/nextAfterId of a page as afterDate/afterId
+    // to get the next one.
+    @GetMapping("/history")
+    public ResponseEntity<ApiResponse<TaskHistoryPage>> getHistory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long poolId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size,
+            HttpSession session) {
+
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            TaskHistoryPage page = taskHistoryService.getTaskHistory(from, to, poolId, afterDate, afterId, size);
+            return ResponseEntity.ok(ApiResponse.success(page));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to fetch task history: " + e.getMessage()));
+        }
+    }
+
+    // Download published tasks of all pools between two dates (both inclusive) as CSV or NDJSON.
+    // Rows are streamed while they are read, so any range can be exported.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpSession session) {
+
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        TaskExportService.Format exportFormat;
+        try {
+            exportFormat = TaskExportService.parseFormat(format);
+            TaskExportService.validateRange(from, to);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        String filename = "tasks-" + from + "-to-" + to + "." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> taskExportService.export(from, to, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    // Live board changes as Server-Sent Events (task-replaced, task-renamed, board-regenerated)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTasks(HttpSession session) {
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(taskBoardBroadcaster.subscribe());
+    }
+
     // Get normal tasks for today
     @GetMapping("/normal")
     public ResponseEntity<ApiResponse<List<TaskDto>>> getNormalTasks(HttpSession session) {
@@ -131,6 +307,27 @@ public class TaskController {
         }
     }
 
+    // Update many tasks in one transaction
+    @PutMapping("/batch")
+    public ResponseEntity<ApiResponse<List<TaskDto>>> updateTasks(
+            @RequestBody List<TaskUpdateRequest> requests,
+            HttpSession session) {
+
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            List<TaskDto> result = taskService.updateTasks(requests);
+
+            return ResponseEntity.ok(ApiResponse.success(result.size() + " tasks updated successfully", result));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to update tasks: " + e.getMessage()));
+        }
+    }
+
     // Update a task
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<TaskDto>> updateTask(
@@ -177,6 +374,48 @@ public class TaskController {
         }
     }
 
+    // Replace or add names on today's board without rebuilding it
+    @PostMapping("/regenerate")
+    public ResponseEntity<ApiResponse<Integer>> regenerateTasks(
+            @RequestBody TaskRegenerateRequest request,
+            HttpSession session) {
+
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            int written = taskService.regenerateTasks(request.getPoolId(),
+                    request.getDropNameIds() != null ? request.getDropNameIds() : List.of(),
+                    request.getAddNameIds() != null ? request.getAddNameIds() : List.of());
+            return ResponseEntity.ok(ApiResponse.success("Board updated, " + written + " rows changed", written));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to regenerate tasks: " + e.getMessage()));
+        }
+    }
+
+    // Publish today's previous board again (poolId omitted = default pool)
+    @PostMapping("/rollback")
+    public ResponseEntity<ApiResponse<String>> rollbackTasks(
+            @RequestParam(required = false) Long poolId,
+            HttpSession session) {
+
+        if (!isAuthenticated(session)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Authentication required"));
+        }
+
+        try {
+            taskService.rollbackSession(poolId);
+            return ResponseEntity.ok(ApiResponse.success("Previous board restored", null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Failed to roll back tasks: " + e.getMessage()));
+        }
+    }
+
     // Check if tasks exist for today
     @GetMapping("/exists")
     public ResponseEntity<ApiResponse<Boolean>> checkTasksExist(HttpSession session) {
@@ -3,8 +3,10 @@ package com.project.namerotation.controller;
 import com.project.namerotation.dto.ApiResponse;
 import com.project.namerotation.dto.UserDto;
 import com.project.namerotation.dto.BulkCreateUserRequest;
+import com.project.namerotation.service.PasswordHasher;
 import com.project.namerotation.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,6 +30,13 @@ public class UserController {
         return session.getAttribute("userId") != null;
     }
 
+    // Password hashing is saturated: ask the client to retry shortly instead of waiting
+    private static <T> ResponseEntity<ApiResponse<T>> busy(PasswordHasher.BusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(e.getMessage()));
+    }
+
     // Get all active users for dropdown (NEW - for announcement targeting)
     @GetMapping("/active")
     public ResponseEntity<ApiResponse<List<UserDto>>> getActiveUsers(HttpSession session) {
@@ -60,6 +69,8 @@ public class UserController {
             UserDto createdUser = userService.createUserWithName(userDto);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("User and name created successfully", createdUser));
+        } catch (PasswordHasher.BusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error("Failed to create user: " + e.getMessage()));
@@ -81,6 +92,8 @@ public class UserController {
             UserDto createdUser = userService.createUserForExistingName(userDto);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("User account created for existing name", createdUser));
+        } catch (PasswordHasher.BusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error("Failed to create user: " + e.getMessage()));
@@ -102,6 +115,8 @@ public class UserController {
             List<UserDto> createdUsers = userService.createBulkAccounts(request.getAccounts());
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Bulk accounts created successfully", createdUsers));
+        } catch (PasswordHasher.BusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error("Failed to create bulk accounts: " + e.getMessage()));
@@ -0,0 +1,25 @@
+package com.project.namerotation.dto;
+
+import java.util.List;
+
+public class NameBulkRequest {
+    
+    private List<Long> ids;
+    
+    // Constructors
+    public NameBulkRequest() {
+    }
+    
+    public NameBulkRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.namerotation.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk delete or deactivate: how many names were changed and the ids left alone
+public class NameBulkResult {
+
+    private int count;
+    private List<Long> skippedIds = new ArrayList<>();
+
+    // Constructors
+    public NameBulkResult() {
+    }
+
+    public NameBulkResult(int count, List<Long> skippedIds) {
+        this.count = count;
+        this.skippedIds = skippedIds;
+    }
+
+    // Getters and Setters
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public List<Long> getSkippedIds() {
+        return skippedIds;
+    }
+
+    public void setSkippedIds(List<Long> skippedIds) {
+        this.skippedIds = skippedIds;
+    }
+}
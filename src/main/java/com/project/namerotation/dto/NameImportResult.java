@@ -0,0 +1,101 @@
+package com.project.namerotation.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk name import: counts and the rows that were not imported
+public class NameImportResult {
+    
+    private long imported;
+    private long duplicates;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    
+    // A row that was not imported, by line number of the upload (1-based)
+    public static class RowError {
+        
+        private long line;
+        private String value;
+        private String message;
+        
+        public RowError() {
+        }
+        
+        public RowError(long line, String value, String message) {
+            this.line = line;
+            this.value = value;
+            this.message = message;
+        }
+        
+        public long getLine() {
+            return line;
+        }
+        
+        public void setLine(long line) {
+            this.line = line;
+        }
+        
+        public String getValue() {
+            return value;
+        }
+        
+        public void setValue(String value) {
+            this.value = value;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+    
+    // Constructors
+    public NameImportResult() {
+    }
+    
+    // Getters and Setters
+    public long getImported() {
+        return imported;
+    }
+    
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+    
+    public long getDuplicates() {
+        return duplicates;
+    }
+    
+    public void setDuplicates(long duplicates) {
+        this.duplicates = duplicates;
+    }
+    
+    public long getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+    
+    public List<RowError> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+    
+    // True when there were more row errors than the report keeps
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+    
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.namerotation.dto;
+
+import java.time.LocalDate;
+
+// A name found by the typeahead search, with its place in the rotation
+public class NameSearchResult {
+    
+    private Long id;
+    private String name;
+    private LocalDate lastDisplayedDate;
+    private Integer displayCount;
+    
+    // Constructors
+    public NameSearchResult() {
+    }
+    
+    public NameSearchResult(Long id, String name, LocalDate lastDisplayedDate, Integer displayCount) {
+        this.id = id;
+        this.name = name;
+        this.lastDisplayedDate = lastDisplayedDate;
+        this.displayCount = displayCount;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public LocalDate getLastDisplayedDate() {
+        return lastDisplayedDate;
+    }
+    
+    public void setLastDisplayedDate(LocalDate lastDisplayedDate) {
+        this.lastDisplayedDate = lastDisplayedDate;
+    }
+    
+    public Integer getDisplayCount() {
+        return displayCount;
+    }
+    
+    public void setDisplayCount(Integer displayCount) {
+        this.displayCount = displayCount;
+    }
+}
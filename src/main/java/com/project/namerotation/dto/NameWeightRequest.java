@@ -0,0 +1,23 @@
+package com.project.namerotation.dto;
+
+public class NameWeightRequest {
+    
+    private Integer weight;
+    
+    // Constructors
+    public NameWeightRequest() {
+    }
+    
+    public NameWeightRequest(Integer weight) {
+        this.weight = weight;
+    }
+    
+    // Getters and Setters
+    public Integer getWeight() {
+        return weight;
+    }
+    
+    public void setWeight(Integer weight) {
+        this.weight = weight;
+    }
+}
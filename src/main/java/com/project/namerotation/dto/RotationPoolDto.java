@@ -0,0 +1,43 @@
+package com.project.namerotation.dto;
+
+public class RotationPoolDto {
+    
+    private Long id;
+    private String name;
+    private Integer boardSize;
+    
+    // Constructors
+    public RotationPoolDto() {
+    }
+    
+    public RotationPoolDto(Long id, String name, Integer boardSize) {
+        this.id = id;
+        this.name = name;
+        this.boardSize = boardSize;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public Integer getBoardSize() {
+        return boardSize;
+    }
+    
+    public void setBoardSize(Integer boardSize) {
+        this.boardSize = boardSize;
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.namerotation.dto;
+
+import java.util.List;
+
+public class TaskBoardDto {
+    
+    private List<TaskDto> normalTasks;
+    private List<TaskDto> specialTasks;
+    
+    // Constructors
+    public TaskBoardDto() {
+    }
+    
+    public TaskBoardDto(List<TaskDto> normalTasks, List<TaskDto> specialTasks) {
+        this.normalTasks = normalTasks;
+        this.specialTasks = specialTasks;
+    }
+    
+    // Getters and Setters
+    public List<TaskDto> getNormalTasks() {
+        return normalTasks;
+    }
+    
+    public void setNormalTasks(List<TaskDto> normalTasks) {
+        this.normalTasks = normalTasks;
+    }
+    
+    public List<TaskDto> getSpecialTasks() {
+        return specialTasks;
+    }
+    
+    public void setSpecialTasks(List<TaskDto> specialTasks) {
+        this.specialTasks = specialTasks;
+    }
+}
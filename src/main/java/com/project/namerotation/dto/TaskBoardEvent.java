@@ -0,0 +1,60 @@
+package com.project.namerotation.dto;
+
+import java.time.LocalDate;
+
+// Change to a task board pushed to /api/tasks/stream subscribers
+public class TaskBoardEvent {
+    
+    public static final String TASK_REPLACED = "task-replaced";
+    public static final String TASK_RENAMED = "task-renamed";
+    public static final String BOARD_REGENERATED = "board-regenerated";
+    
+    private String type;
+    private LocalDate sessionDate;
+    private Long poolId;
+    private TaskDto task; // Changed task, null for board-regenerated
+    
+    // Constructors
+    public TaskBoardEvent() {
+    }
+    
+    public TaskBoardEvent(String type, LocalDate sessionDate, Long poolId, TaskDto task) {
+        this.type = type;
+        this.sessionDate = sessionDate;
+        this.poolId = poolId;
+        this.task = task;
+    }
+    
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public LocalDate getSessionDate() {
+        return sessionDate;
+    }
+    
+    public void setSessionDate(LocalDate sessionDate) {
+        this.sessionDate = sessionDate;
+    }
+    
+    public Long getPoolId() {
+        return poolId;
+    }
+    
+    public void setPoolId(Long poolId) {
+        this.poolId = poolId;
+    }
+    
+    public TaskDto getTask() {
+        return task;
+    }
+    
+    public void setTask(TaskDto task) {
+        this.task = task;
+    }
+}
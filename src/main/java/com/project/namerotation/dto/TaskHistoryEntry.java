@@ -0,0 +1,97 @@
+package com.project.namerotation.dto;
+
+import java.time.LocalDate;
+
+// One task of a past board, as served by the history API and stored in archive files
+public class TaskHistoryEntry {
+    
+    private LocalDate sessionDate;
+    private Long poolId;
+    private Long taskId;
+    private Long nameId;
+    private String name;
+    private String taskName;
+    private Boolean isSpecialTask;
+    private Long sessionSeed;
+    
+    // Constructors
+    public TaskHistoryEntry() {
+    }
+    
+    public TaskHistoryEntry(LocalDate sessionDate, Long poolId, Long taskId, Long nameId, String name,
+                            String taskName, Boolean isSpecialTask, Long sessionSeed) {
+        this.sessionDate = sessionDate;
+        this.poolId = poolId;
+        this.taskId = taskId;
+        this.nameId = nameId;
+        this.name = name;
+        this.taskName = taskName;
+        this.isSpecialTask = isSpecialTask;
+        this.sessionSeed = sessionSeed;
+    }
+    
+    // Getters and Setters
+    public LocalDate getSessionDate() {
+        return sessionDate;
+    }
+    
+    public void setSessionDate(LocalDate sessionDate) {
+        this.sessionDate = sessionDate;
+    }
+    
+    public Long getPoolId() {
+        return poolId;
+    }
+    
+    public void setPoolId(Long poolId) {
+        this.poolId = poolId;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+    
+    public Long getNameId() {
+        return nameId;
+    }
+    
+    public void setNameId(Long nameId) {
+        this.nameId = nameId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getTaskName() {
+        return taskName;
+    }
+    
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+    
+    public Boolean getIsSpecialTask() {
+        return isSpecialTask;
+    }
+    
+    public void setIsSpecialTask(Boolean isSpecialTask) {
+        this.isSpecialTask = isSpecialTask;
+    }
+    
+    public Long getSessionSeed() {
+        return sessionSeed;
+    }
+    
+    public void setSessionSeed(Long sessionSeed) {
+        this.sessionSeed = sessionSeed;
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.namerotation.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// One page of task history. The next page is requested with afterDate/afterId set to
+// nextAfterDate/nextAfterId, which are null on the last page.
+public class TaskHistoryPage {
+    
+    private List<TaskHistoryEntry> entries;
+    private LocalDate nextAfterDate;
+    private Long nextAfterId;
+    
+    // Constructors
+    public TaskHistoryPage() {
+    }
+    
+    public TaskHistoryPage(List<TaskHistoryEntry> entries, LocalDate nextAfterDate, Long nextAfterId) {
+        this.entries = entries;
+        this.nextAfterDate = nextAfterDate;
+        this.nextAfterId = nextAfterId;
+    }
+    
+    // Getters and Setters
+    public List<TaskHistoryEntry> getEntries() {
+        return entries;
+    }
+    
+    public void setEntries(List<TaskHistoryEntry> entries) {
+        this.entries = entries;
+    }
+    
+    public LocalDate getNextAfterDate() {
+        return nextAfterDate;
+    }
+    
+    public void setNextAfterDate(LocalDate nextAfterDate) {
+        this.nextAfterDate = nextAfterDate;
+    }
+    
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+    
+    public void setNextAfterId(Long nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.namerotation.dto;
+
+import java.util.List;
+
+public class TaskRegenerateRequest {
+    
+    private Long poolId;
+    private List<Long> dropNameIds;
+    private List<Long> addNameIds;
+    
+    // Constructors
+    public TaskRegenerateRequest() {
+    }
+    
+    public TaskRegenerateRequest(Long poolId, List<Long> dropNameIds, List<Long> addNameIds) {
+        this.poolId = poolId;
+        this.dropNameIds = dropNameIds;
+        this.addNameIds = addNameIds;
+    }
+    
+    // Getters and Setters
+    public Long getPoolId() {
+        return poolId;
+    }
+    
+    public void setPoolId(Long poolId) {
+        this.poolId = poolId;
+    }
+    
+    public List<Long> getDropNameIds() {
+        return dropNameIds;
+    }
+    
+    public void setDropNameIds(List<Long> dropNameIds) {
+        this.dropNameIds = dropNameIds;
+    }
+    
+    public List<Long> getAddNameIds() {
+        return addNameIds;
+    }
+    
+    public void setAddNameIds(List<Long> addNameIds) {
+        this.addNameIds = addNameIds;
+    }
+}
@@ -66,4 +66,11 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Long
     @Modifying
     @Query("UPDATE Announcement a SET a.specificUser = NULL WHERE a.specificUser.id = :userId")
     void setSpecificUserToNull(@Param("userId") Long userId);
+    
+    // Set specific_user_id to NULL for the users of many names in one statement (for bulk name delete)
+    @Modifying
+    @Query(value = "UPDATE announcements SET specific_user_id = NULL " +
+                   "WHERE specific_user_id IN (SELECT id FROM users WHERE name_id = ANY(:nameIds))",
+           nativeQuery = true)
+    int clearSpecificUsersOfNames(@Param("nameIds") Long[] nameIds);
 }
\ No newline at end of file
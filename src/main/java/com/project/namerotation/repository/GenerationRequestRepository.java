@@ -0,0 +1,23 @@
+package com.project.namerotation.repository;
+
+import com.project.namerotationsystem.model.GenerationRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface GenerationRequestRepository extends JpaRepository<GenerationRequest, Long> {
+    
+    // The generation that already ran for this idempotency key, if any
+    Optional<GenerationRequest> findByIdempotencyKey(String idempotencyKey);
+    
+    // Delete the records of sessions before a date
+    @Modifying
+    @Query("DELETE FROM GenerationRequest g WHERE g.sessionDate < :before")
+    void deleteBySessionDateBefore(@Param("before") LocalDate before);
+}
@@ -1,10 +1,15 @@
 package com.project.namerotation.repository;
 
+import com.project.namerotation.dto.NameDto;
+import com.project.namerotation.service.RotationQueue;
 import com.project.namerotationsystem.model.Name;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
@@ -23,9 +28,124 @@ public interface NameRepository extends JpaRepository<Name, Long> {
     
     // Find a specific name by name string
     List<Name> findByName(String name);
- // Find names without user accounts
-    @Query("SELECT n FROM Name n WHERE n.isActive = true AND n.id NOT IN (SELECT u.name.id FROM User u WHERE u.name IS NOT NULL)")
-    List<Name> findNamesWithoutUserAccounts();
+    
+    // Active names without user accounts, as DTOs in one statement. Loading Name entities would
+    // also load each name's User (a mappedBy one-to-one cannot be lazy), one extra select per name.
+    @Query("SELECT new com.project.namerotation.dto.NameDto(n.id, n.name) FROM Name n WHERE n.isActive = true " +
+           "AND n.id NOT IN (SELECT u.name.id FROM User u WHERE u.name IS NOT NULL)")
+    List<NameDto> findNameDtosWithoutUserAccounts();
 
 	long countByIsActiveTrue();
+
+    // Rotation state of active names (id, lastDisplayedDate, displayCount, weight, specialTaskCount,
+    // rotationPass) for the in-memory queue (default pool)
+    @Query("SELECT n.id, n.lastDisplayedDate, n.displayCount, n.weight, n.specialTaskCount, n.rotationPass FROM Name n WHERE n.isActive = true AND n.pool IS NULL")
+    List<Object[]> findActiveRotationState();
+
+    // Rotation state of a pool's active names
+    @Query("SELECT n.id, n.lastDisplayedDate, n.displayCount, n.weight, n.specialTaskCount, n.rotationPass FROM Name n WHERE n.isActive = true AND n.pool.id = :poolId")
+    List<Object[]> findActiveRotationStateByPool(@Param("poolId") Long poolId);
+
+    // Mark a whole board of names as displayed in a single UPDATE. The last displayed date
+    // only moves forward, so names on a planned board of a later date keep that date. The
+    // rotation pass advances by the name's stride, as in RotationQueue.
+    @Modifying
+    @Query(value = "UPDATE names SET last_displayed_date = GREATEST(COALESCE(last_displayed_date, :date), :date), " +
+                   "display_count = COALESCE(display_count, 0) + 1, " +
+                   "rotation_pass = COALESCE(rotation_pass, 0) + " + RotationQueue.STRIDE_UNIT +
+                   " / GREATEST(COALESCE(weight, 1), 1) WHERE id = ANY(:ids)",
+           nativeQuery = true)
+    int markDisplayed(@Param("date") LocalDate date, @Param("ids") Long[] ids);
+
+    // Take back the display of a withdrawn board (session id, date) in a single UPDATE. Names whose
+    // last display was this board fall back to their latest other published board, or to never
+    // displayed if it is no longer in the database (archived). Flushes first, so that session
+    // statuses changed in the same transaction are seen.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE names SET display_count = GREATEST(COALESCE(display_count, 0) - 1, 0), " +
+                   "rotation_pass = COALESCE(rotation_pass, 0) - " + RotationQueue.STRIDE_UNIT +
+                   " / GREATEST(COALESCE(weight, 1), 1), " +
+                   "last_displayed_date = CASE WHEN last_displayed_date = :date THEN " +
+                   "(SELECT MAX(t.session_date) FROM task_assignments t " +
+                   "JOIN rotation_sessions s ON s.id = t.rotation_session_id " +
+                   "WHERE t.name_id = names.id AND t.is_special_task = FALSE AND s.status = 'PUBLISHED' " +
+                   "AND s.id <> :sessionId) " +
+                   "ELSE last_displayed_date END " +
+                   "WHERE id = ANY(:ids)",
+           nativeQuery = true)
+    int unmarkDisplayed(@Param("sessionId") Long sessionId, @Param("date") LocalDate date, @Param("ids") Long[] ids);
+
+    // Rotation state (id, lastDisplayedDate, displayCount, weight, specialTaskCount, isActive,
+    // rotationPass) of many names, read back after a bulk UPDATE
+    @Query(value = "SELECT id, last_displayed_date, display_count, weight, special_task_count, is_active, rotation_pass " +
+                   "FROM names WHERE id = ANY(:ids)",
+           nativeQuery = true)
+    List<Object[]> findRotationStateByIds(@Param("ids") Long[] ids);
+
+    // Count one more special task for each of the given names
+    @Modifying
+    @Query(value = "UPDATE names SET special_task_count = COALESCE(special_task_count, 0) + 1 WHERE id = ANY(:ids)",
+           nativeQuery = true)
+    int markSpecial(@Param("ids") Long[] ids);
+
+    // Take back one special task of each of the given names (of a withdrawn board)
+    @Modifying
+    @Query(value = "UPDATE names SET special_task_count = GREATEST(COALESCE(special_task_count, 0) - 1, 0) WHERE id = ANY(:ids)",
+           nativeQuery = true)
+    int unmarkSpecial(@Param("ids") Long[] ids);
+    
+    // Those of the given names that still have tasks in the database
+    @Query(value = "SELECT n.id FROM names n WHERE n.id = ANY(:ids) " +
+                   "AND EXISTS (SELECT 1 FROM task_assignments t WHERE t.name_id = n.id)",
+           nativeQuery = true)
+    List<Long> findIdsWithTasks(@Param("ids") Long[] ids);
+
+    // Delete many names in a single DELETE; their users must be gone first
+    @Modifying
+    @Query(value = "DELETE FROM names WHERE id = ANY(:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") Long[] ids);
+    
+    // Take many names out of the rotation in a single UPDATE
+    @Modifying
+    @Query(value = "UPDATE names SET is_active = false WHERE id = ANY(:ids)", nativeQuery = true)
+    int deactivateByIds(@Param("ids") Long[] ids);
+    
+    // Names of the default pool, without loading entities
+    @Query("SELECT n.name FROM Name n WHERE n.pool IS NULL")
+    List<String> findNamesInDefaultPool();
+    
+    // Names of a pool, without loading entities
+    @Query("SELECT n.name FROM Name n WHERE n.pool.id = :poolId")
+    List<String> findNamesByPoolId(@Param("poolId") Long poolId);
+    
+    // All names (id, name, poolId, isActive, lastDisplayedDate, displayCount) in id order,
+    // for the in-memory name registry
+    @Query("SELECT n.id, n.name, p.id, n.isActive, n.lastDisplayedDate, n.displayCount FROM Name n " +
+           "LEFT JOIN n.pool p ORDER BY n.id")
+    List<Object[]> findRegistryState();
+    
+    // Active names (id, name, poolId) for the in-memory search index
+    @Query("SELECT n.id, n.name, p.id FROM Name n LEFT JOIN n.pool p WHERE n.isActive = true")
+    List<Object[]> findActiveNamesForSearch();
+    
+    // Rotation order of RotationQueue in SQL: in weighted mode by the pass after the next
+    // pick, then by last displayed date (never displayed first), display count and id
+    String ROTATION_ORDER = "ORDER BY CASE WHEN :weighted THEN COALESCE(rotation_pass, 0) + " +
+            RotationQueue.STRIDE_UNIT + " / GREATEST(COALESCE(weight, 1), 1) ELSE 0 END, " +
+            "last_displayed_date NULLS FIRST, COALESCE(display_count, 0), id";
+
+    // Active default pool names (id, name) containing a LIKE pattern, the first max of them
+    // in rotation order. The filter is served by the pg_trgm index on lower(name), PostgreSQL only.
+    @Query(value = "SELECT id, name FROM names WHERE is_active = true AND pool_id IS NULL " +
+                   "AND lower(name) LIKE :pattern " + ROTATION_ORDER + " LIMIT :max",
+           nativeQuery = true)
+    List<Object[]> searchDefaultPoolByTrigram(@Param("pattern") String pattern, @Param("weighted") boolean weighted,
+                                              @Param("max") int max);
+    
+    // Active names (id, name) of a pool containing a LIKE pattern, the first max in rotation order
+    @Query(value = "SELECT id, name FROM names WHERE is_active = true AND pool_id = :poolId " +
+                   "AND lower(name) LIKE :pattern " + ROTATION_ORDER + " LIMIT :max",
+           nativeQuery = true)
+    List<Object[]> searchPoolByTrigram(@Param("poolId") Long poolId, @Param("pattern") String pattern,
+                                       @Param("weighted") boolean weighted, @Param("max") int max);
 }
@@ -0,0 +1,12 @@
+package com.project.namerotation.repository;
+
+import com.project.namerotationsystem.model.RotationPool;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RotationPoolRepository extends JpaRepository<RotationPool, Long> {
+    
+    // Check if a pool with the same name exists
+    boolean existsByName(String name);
+}
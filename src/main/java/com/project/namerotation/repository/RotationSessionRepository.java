@@ -0,0 +1,41 @@
+package com.project.namerotation.repository;
+
+import com.project.namerotationsystem.model.RotationSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface RotationSessionRepository extends JpaRepository<RotationSession, Long> {
+    
+    // Find the version of a session with the given status
+    Optional<RotationSession> findFirstBySessionKeyAndStatus(String sessionKey, String status);
+    
+    // Highest version of a session, 0 if none
+    @Query("SELECT COALESCE(MAX(s.version), 0) FROM RotationSession s WHERE s.sessionKey = :sessionKey")
+    int findLatestVersion(@Param("sessionKey") String sessionKey);
+    
+    // Delete the versions of a session that do not have the given status
+    @Modifying
+    @Query("DELETE FROM RotationSession s WHERE s.sessionKey = :sessionKey AND s.status <> :status")
+    void deleteBySessionKeyAndStatusNot(@Param("sessionKey") String sessionKey, @Param("status") String status);
+    
+    // Delete all versions of a session
+    @Modifying
+    @Query("DELETE FROM RotationSession s WHERE s.sessionKey = :sessionKey")
+    void deleteBySessionKey(@Param("sessionKey") String sessionKey);
+    
+    // Date of the oldest session still in the database
+    @Query("SELECT MIN(s.sessionDate) FROM RotationSession s")
+    LocalDate findOldestSessionDate();
+    
+    // Delete the sessions of a date range (end exclusive)
+    @Modifying
+    @Query("DELETE FROM RotationSession s WHERE s.sessionDate >= :from AND s.sessionDate < :to")
+    void deleteBySessionDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
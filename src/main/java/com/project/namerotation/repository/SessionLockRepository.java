@@ -0,0 +1,35 @@
+package com.project.namerotation.repository;
+
+import com.project.namerotationsystem.model.RotationSession;
+import com.project.namerotationsystem.model.SessionLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface SessionLockRepository extends JpaRepository<SessionLock, String> {
+    
+    // Create the lock row of a session if it does not exist yet
+    @Modifying
+    @Query(value = "INSERT INTO session_locks (lock_key) VALUES (:lockKey) ON CONFLICT DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("lockKey") String lockKey);
+    
+    // Lock the row until the current transaction ends
+    @Query(value = "SELECT lock_key FROM session_locks WHERE lock_key = :lockKey FOR UPDATE", nativeQuery = true)
+    String lock(@Param("lockKey") String lockKey);
+    
+    // Point the session at another board version (null = nothing published)
+    @Modifying
+    @Query("UPDATE SessionLock l SET l.currentSession = :session WHERE l.lockKey = :lockKey")
+    void publish(@Param("lockKey") String lockKey, @Param("session") RotationSession session);
+    
+    // Delete the lock rows that point to sessions of a date range (end exclusive)
+    @Modifying
+    @Query("DELETE FROM SessionLock l WHERE l.currentSession.id IN " +
+           "(SELECT s.id FROM RotationSession s WHERE s.sessionDate >= :from AND s.sessionDate < :to)")
+    void deleteBySessionDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,33 +1,160 @@
 package com.project.namerotation.repository;
 
+import com.project.namerotation.dto.TaskDto;
+import com.project.namerotation.dto.TaskHistoryEntry;
 import com.project.namerotationsystem.model.TaskAssignment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskAssignmentRepository extends JpaRepository<TaskAssignment, Long> {
     
-    // Find all task assignments for current session
-    List<TaskAssignment> findBySessionDate(LocalDate sessionDate);
+    // Find the tasks of a session's published board. The session date restricts the
+    // read to the session's month partition.
+    @Query("SELECT t FROM TaskAssignment t WHERE t.sessionDate = :sessionDate AND t.session.id = " +
+           "(SELECT l.currentSession.id FROM SessionLock l WHERE l.lockKey = :sessionKey)")
+    List<TaskAssignment> findCurrentBySessionKey(@Param("sessionKey") String sessionKey,
+                                                 @Param("sessionDate") LocalDate sessionDate);
     
-    // Find normal tasks (not special tasks)
-    List<TaskAssignment> findBySessionDateAndIsSpecialTaskFalse(LocalDate sessionDate);
+    // Find the normal or special tasks of a session's published board
+    @Query("SELECT t FROM TaskAssignment t WHERE t.sessionDate = :sessionDate " +
+           "AND t.isSpecialTask = :isSpecialTask AND t.session.id = " +
+           "(SELECT l.currentSession.id FROM SessionLock l WHERE l.lockKey = :sessionKey)")
+    List<TaskAssignment> findCurrentBySessionKeyAndIsSpecialTask(@Param("sessionKey") String sessionKey,
+                                                                 @Param("sessionDate") LocalDate sessionDate,
+                                                                 @Param("isSpecialTask") Boolean isSpecialTask);
     
-    // Find special tasks
-    List<TaskAssignment> findBySessionDateAndIsSpecialTaskTrue(LocalDate sessionDate);
+    // Read a session's published board straight into DTOs, in one statement and without loading entities
+    @Query("SELECT new com.project.namerotation.dto.TaskDto(t.id, n.id, n.name, t.taskName, t.isSpecialTask) " +
+           "FROM TaskAssignment t JOIN t.name n WHERE t.sessionDate = :sessionDate AND t.session.id = " +
+           "(SELECT l.currentSession.id FROM SessionLock l WHERE l.lockKey = :sessionKey) ORDER BY t.id")
+    List<TaskDto> findCurrentBoardBySessionKey(@Param("sessionKey") String sessionKey,
+                                               @Param("sessionDate") LocalDate sessionDate);
     
-    // Delete all tasks for a specific session
+    // Published tasks of a date range (end exclusive) for history and archiving
+    @Query("SELECT new com.project.namerotation.dto.TaskHistoryEntry(t.sessionDate, p.id, t.id, n.id, n.name, " +
+           "t.taskName, t.isSpecialTask, t.sessionSeed) " +
+           "FROM TaskAssignment t JOIN t.name n JOIN t.session s LEFT JOIN t.pool p " +
+           "WHERE t.sessionDate >= :from AND t.sessionDate < :to AND s.status = 'PUBLISHED' " +
+           "ORDER BY t.sessionDate, t.id")
+    List<TaskHistoryEntry> findPublishedHistory(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    // Published tasks of a date range (end exclusive) as a forward-only cursor for exports.
+    // Rows are fetched from the database in batches while the stream is read, so it has to be
+    // consumed and closed inside a transaction.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.project.namerotation.dto.TaskHistoryEntry(t.sessionDate, p.id, t.id, n.id, n.name, " +
+           "t.taskName, t.isSpecialTask, t.sessionSeed) " +
+           "FROM TaskAssignment t JOIN t.name n JOIN t.session s LEFT JOIN t.pool p " +
+           "WHERE t.sessionDate >= :from AND t.sessionDate < :to AND s.status = 'PUBLISHED' " +
+           "ORDER BY t.sessionDate, t.id")
+    Stream<TaskHistoryEntry> streamPublishedHistory(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    // Keyset pages of published history: the tasks after (afterDate, afterId) in (sessionDate, id)
+    // order within a date range (end exclusive), read through the (session_date, id) index at any depth
+    String HISTORY_PAGE_SELECT = "SELECT new com.project.namerotation.dto.TaskHistoryEntry(t.sessionDate, p.id, " +
+            "t.id, n.id, n.name, t.taskName, t.isSpecialTask, t.sessionSeed) " +
+            "FROM TaskAssignment t JOIN t.name n JOIN t.session s LEFT JOIN t.pool p " +
+            "WHERE s.status = 'PUBLISHED' AND t.sessionDate >= :from AND t.sessionDate < :to " +
+            "AND t.sessionDate >= :afterDate " +
+            "AND (t.sessionDate > :afterDate OR t.id > :afterId) ";
+    String HISTORY_PAGE_ORDER = "ORDER BY t.sessionDate, t.id";
+    
+    // Page of the default pool's history, through the (pool_id, session_date, id) index
+    @Query(HISTORY_PAGE_SELECT + "AND t.pool IS NULL " + HISTORY_PAGE_ORDER)
+    List<TaskHistoryEntry> findHistoryPage(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                           @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                           Limit limit);
+    
+    // Page of a pool's history, through the same index
+    @Query(HISTORY_PAGE_SELECT + "AND t.pool.id = :poolId " + HISTORY_PAGE_ORDER)
+    List<TaskHistoryEntry> findHistoryPageByPoolId(@Param("poolId") Long poolId,
+                                                   @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                   @Param("afterDate") LocalDate afterDate,
+                                                   @Param("afterId") Long afterId, Limit limit);
+    
+    // Page of a name's history across pools, through the (name_id, session_date, id) index
+    @Query(HISTORY_PAGE_SELECT + "AND n.id = :nameId " + HISTORY_PAGE_ORDER)
+    List<TaskHistoryEntry> findHistoryPageByNameId(@Param("nameId") Long nameId,
+                                                   @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                   @Param("afterDate") LocalDate afterDate,
+                                                   @Param("afterId") Long afterId, Limit limit);
+    
+    // Delete the tasks of a date range (end exclusive)
+    @Modifying
+    @Query("DELETE FROM TaskAssignment t WHERE t.sessionDate >= :from AND t.sessionDate < :to")
+    void deleteBySessionDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    // Find all tasks of one board version
+    List<TaskAssignment> findBySessionId(Long sessionId);
+    
+    // Find tasks by id with their names (and the names' users) in one statement
+    @Query("SELECT t FROM TaskAssignment t JOIN FETCH t.name n LEFT JOIN FETCH n.user WHERE t.id IN :ids")
+    List<TaskAssignment> findAllWithNameByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Find the special tasks of several board versions with their names in one statement
+    @Query("SELECT t FROM TaskAssignment t JOIN FETCH t.name n LEFT JOIN FETCH n.user " +
+           "WHERE t.session.id IN :sessionIds AND t.isSpecialTask = true")
+    List<TaskAssignment> findSpecialWithNameBySessionIdIn(@Param("sessionIds") Collection<Long> sessionIds);
+    
+    // Ids of the names on the normal or special tasks of one board version (of the given date)
+    @Query("SELECT t.name.id FROM TaskAssignment t WHERE t.sessionDate = :sessionDate " +
+           "AND t.session.id = :sessionId AND t.isSpecialTask = :isSpecialTask ORDER BY t.id")
+    List<Long> findNameIdsBySessionId(@Param("sessionId") Long sessionId,
+                                      @Param("sessionDate") LocalDate sessionDate,
+                                      @Param("isSpecialTask") Boolean isSpecialTask);
+    
+    // Find special tasks of one board version
+    List<TaskAssignment> findBySessionIdAndIsSpecialTaskTrue(Long sessionId);
+    
+    // Delete the tasks of a session's board versions that do not have the given status
     @Modifying
-    @Query("DELETE FROM TaskAssignment t WHERE t.sessionDate = :sessionDate")
-    void deleteBySessionDate(LocalDate sessionDate);
+    @Query("DELETE FROM TaskAssignment t WHERE t.session.id IN " +
+           "(SELECT s.id FROM RotationSession s WHERE s.sessionKey = :sessionKey AND s.status <> :status)")
+    void deleteBySessionKeyAndSessionStatusNot(@Param("sessionKey") String sessionKey, @Param("status") String status);
     
-    // Find latest session date
-    @Query("SELECT MAX(t.sessionDate) FROM TaskAssignment t")
+    // Delete the tasks of all board versions of a session
+    @Modifying
+    @Query("DELETE FROM TaskAssignment t WHERE t.session.id IN " +
+           "(SELECT s.id FROM RotationSession s WHERE s.sessionKey = :sessionKey)")
+    void deleteBySessionKey(@Param("sessionKey") String sessionKey);
+    
+    // Dashboard numbers in one round trip: total names, active names, tasks and special tasks
+    // on a session's published board, latest published default pool session date
+    @Query(value = "SELECT (SELECT COUNT(*) FROM names), " +
+                   "(SELECT COUNT(*) FROM names WHERE is_active = TRUE), " +
+                   "(SELECT COUNT(*) FROM task_assignments t JOIN session_locks l " +
+                   "ON t.rotation_session_id = l.current_session_id " +
+                   "WHERE l.lock_key = :sessionKey AND t.session_date = :sessionDate), " +
+                   "(SELECT COUNT(*) FROM task_assignments t JOIN session_locks l " +
+                   "ON t.rotation_session_id = l.current_session_id " +
+                   "WHERE l.lock_key = :sessionKey AND t.session_date = :sessionDate AND t.is_special_task = TRUE), " +
+                   "(SELECT MAX(session_date) FROM rotation_sessions WHERE status = 'PUBLISHED' AND pool_id IS NULL)",
+           nativeQuery = true)
+    List<Object[]> findDashboardCounts(@Param("sessionKey") String sessionKey,
+                                       @Param("sessionDate") LocalDate sessionDate);
+    
+    // Latest published session date of the default pool (from the sessions table, which is far
+    // smaller than the tasks); built or replaced versions do not count
+    @Query("SELECT MAX(s.sessionDate) FROM RotationSession s WHERE s.status = 'PUBLISHED' AND s.pool IS NULL")
     LocalDate findLatestSessionDate();
+    
+    // Latest published session date of a pool
+    @Query("SELECT MAX(s.sessionDate) FROM RotationSession s WHERE s.status = 'PUBLISHED' AND s.pool.id = :poolId")
+    LocalDate findLatestSessionDateByPool(@Param("poolId") Long poolId);
 }
-
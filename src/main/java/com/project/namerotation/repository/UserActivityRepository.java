@@ -51,6 +51,12 @@ public interface UserActivityRepository extends JpaRepository<UserActivity, Long
     @Query("DELETE FROM UserActivity ua WHERE ua.user.id = :userId")
     void deleteByUserId(@Param("userId") Long userId);
     
+    // Delete the activities of the users of many names in one statement (for bulk name delete)
+    @Modifying
+    @Query(value = "DELETE FROM user_activities WHERE user_id IN (SELECT id FROM users WHERE name_id = ANY(:nameIds))",
+           nativeQuery = true)
+    int deleteByUserNameIds(@Param("nameIds") Long[] nameIds);
+    
     // NEW: Find activities by user ID
     List<UserActivity> findByUserId(Long userId);
     
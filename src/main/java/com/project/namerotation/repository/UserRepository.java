@@ -2,10 +2,12 @@ package com.project.namerotation.repository;
 
 import com.project.namerotationsystem.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,4 +49,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find users who have linked names
     @Query("SELECT u FROM User u WHERE u.name IS NOT NULL AND u.isActive = true")
     List<User> findUsersWithNames();
+    
+    // Which of the given usernames are taken, in one query (for bulk account creation)
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+    
+    // Which of the given emails are taken
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    // Which of the given names already have a user account
+    @Query("SELECT u.name.id FROM User u WHERE u.name.id IN :nameIds")
+    List<Long> findLinkedNameIds(@Param("nameIds") Collection<Long> nameIds);
+    
+    // Delete the users of many names in one statement (for bulk name delete)
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE name_id = ANY(:nameIds)", nativeQuery = true)
+    int deleteByNameIds(@Param("nameIds") Long[] nameIds);
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.repository.TaskAssignmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Admin dashboard numbers from one aggregate query instead of loading the names and
+// today's tasks to count them. Today's tasks are counted through the published board's
+// index, and the latest session date comes from the small rotation_sessions table.
+@Service
+public class DashboardStatsService {
+
+    private final TaskAssignmentRepository taskAssignmentRepository;
+
+    @Autowired
+    public DashboardStatsService(TaskAssignmentRepository taskAssignmentRepository) {
+        this.taskAssignmentRepository = taskAssignmentRepository;
+    }
+
+    // Dashboard statistics for today's default pool board
+    public Map<String, Object> getStats() {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = taskAssignmentRepository.findDashboardCounts(TaskService.sessionKey(today, null), today);
+        Object[] row = rows.get(0);
+
+        long tasksToday = toLong(row[2]);
+        long specialTasks = toLong(row[3]);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalNames", toLong(row[0]));
+        stats.put("activeNames", toLong(row[1]));
+        stats.put("tasksToday", tasksToday);
+        stats.put("normalTasks", tasksToday - specialTasks);
+        stats.put("specialTasks", specialTasks);
+        stats.put("currentDate", today.toString());
+        stats.put("latestSessionDate", NativeValues.toLocalDate(row[4]));
+        return stats;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,332 @@
+package com.project.namerotation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.namerotation.dto.NameImportResult;
+import com.project.namerotation.repository.NameRepository;
+import com.project.namerotation.repository.RotationPoolRepository;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Imports many names from one streamed CSV or NDJSON upload. Rows are read one at a time,
+// normalized (trimmed, inner whitespace collapsed, Unicode NFC) and de-duplicated,
+// case-insensitively, against the pool's existing names and earlier rows through a hash set.
+// Valid rows are written in chunks, with COPY on PostgreSQL and JDBC batches elsewhere,
+// and rows that were not imported are reported with their line number.
+//
+// CSV: one name per line with an optional weight column, optional "name" header.
+// NDJSON: one object per line, {"name": "...", "weight": 2} (weight optional).
+@Service
+public class NameImportService {
+
+    public static final int MAX_NAME_LENGTH = 100;
+
+    // Rows written per COPY / batch
+    private static final int CHUNK_SIZE = 5000;
+
+    // Row errors kept in the report; later ones are only counted
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Ids are taken from names_seq in blocks of its increment (allocationSize of Name), as
+    // Hibernate does: a sequence value v reserves the ids v - 49 to v
+    private static final int ID_BLOCK = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NameRepository nameRepository;
+    private final RotationPoolRepository rotationPoolRepository;
+    private final RotationEngine rotationEngine;
+    private final NameSearchIndex nameSearchIndex;
+    private final NameRegistry nameRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public NameImportService(JdbcTemplate jdbcTemplate, NameRepository nameRepository,
+                             RotationPoolRepository rotationPoolRepository, RotationEngine rotationEngine,
+                             NameSearchIndex nameSearchIndex, NameRegistry nameRegistry,
+                             ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nameRepository = nameRepository;
+        this.rotationPoolRepository = rotationPoolRepository;
+        this.rotationEngine = rotationEngine;
+        this.nameSearchIndex = nameSearchIndex;
+        this.nameRegistry = nameRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    // A valid row waiting to be written
+    private static final class ImportRow {
+        private final String name;
+        private final int weight;
+
+        ImportRow(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+    }
+
+    // Import names into a pool (null = default pool); format is csv or ndjson
+    @Transactional
+    public NameImportResult importNames(InputStream input, String format, Long poolId) throws IOException {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        if (!ndjson && !"csv".equalsIgnoreCase(format)) {
+            throw new RuntimeException("Format must be csv or ndjson");
+        }
+        if (poolId != null && !rotationPoolRepository.existsById(poolId)) {
+            throw new RuntimeException("Pool not found with id: " + poolId);
+        }
+
+        Set<String> seen = new HashSet<>();
+        List<String> existing = poolId == null
+                ? nameRepository.findNamesInDefaultPool()
+                : nameRepository.findNamesByPoolId(poolId);
+        for (String name : existing) {
+            seen.add(dedupKey(normalize(name)));
+        }
+
+        boolean postgres = isPostgres();
+        NameImportResult result = new NameImportResult();
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (!ndjson && lineNumber == 1 && isCsvHeader(line))) {
+                continue;
+            }
+
+            ImportRow row;
+            try {
+                row = ndjson ? parseNdjson(line) : parseCsv(line);
+            } catch (Exception e) {
+                result.setFailed(result.getFailed() + 1);
+                reportRow(result, lineNumber, line, e.getMessage());
+                continue;
+            }
+            if (!seen.add(dedupKey(row.name))) {
+                result.setDuplicates(result.getDuplicates() + 1);
+                reportRow(result, lineNumber, row.name, "Duplicate name");
+                continue;
+            }
+
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                write(chunk, poolId, now, postgres);
+                result.setImported(result.getImported() + chunk.size());
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, poolId, now, postgres);
+            result.setImported(result.getImported() + chunk.size());
+        }
+
+        if (result.getImported() > 0) {
+            rotationEngine.namesImported(poolId);
+            nameSearchIndex.invalidate();
+            nameRegistry.invalidate();
+        }
+        return result;
+    }
+
+    private static boolean isCsvHeader(String line) {
+        String header = line.replace(" ", "").toLowerCase(Locale.ROOT);
+        return header.equals("name") || header.equals("name,weight");
+    }
+
+    // Parse "name[,weight]"
+    private ImportRow parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() > 2) {
+            throw new RuntimeException("Expected name and optional weight, got " + fields.size() + " columns");
+        }
+        String name = normalize(fields.get(0));
+        Integer weight = null;
+        if (fields.size() == 2 && !fields.get(1).isBlank()) {
+            try {
+                weight = Integer.parseInt(fields.get(1).trim());
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Weight is not a number: " + fields.get(1).trim());
+            }
+        }
+        return validate(name, weight);
+    }
+
+    private ImportRow parseNdjson(String line) throws IOException {
+        JsonNode node = objectMapper.readTree(line);
+        if (node == null || !node.isObject()) {
+            throw new RuntimeException("Expected a JSON object");
+        }
+        JsonNode name = node.get("name");
+        if (name == null || name.isNull()) {
+            throw new RuntimeException("Name cannot be empty");
+        }
+        if (!name.isTextual()) {
+            throw new RuntimeException("Field \"name\" must be a string, got " +
+                    name.getNodeType().name().toLowerCase(Locale.ROOT) + ": " + name);
+        }
+        JsonNode weight = node.get("weight");
+        if (weight != null && !weight.isNull() && !weight.isInt()) {
+            throw new RuntimeException("Weight is not a number: " + weight);
+        }
+        return validate(normalize(name.asText()), weight == null || weight.isNull() ? null : weight.asInt());
+    }
+
+    private static ImportRow validate(String name, Integer weight) {
+        if (name.isEmpty()) {
+            throw new RuntimeException("Name cannot be empty");
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            throw new RuntimeException("Name is longer than " + MAX_NAME_LENGTH + " characters");
+        }
+        if (weight != null && weight < 1) {
+            throw new RuntimeException("Weight must be at least 1");
+        }
+        return new ImportRow(name, weight != null ? weight : 1);
+    }
+
+    // Fields of one CSV line; quoted fields may contain commas and doubled quotes
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(2);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new RuntimeException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String normalize(String name) {
+        return Normalizer.normalize(name, Normalizer.Form.NFC).trim().replaceAll("\\s+", " ");
+    }
+
+    private static String dedupKey(String normalizedName) {
+        return normalizedName.toLowerCase(Locale.ROOT);
+    }
+
+    private static void reportRow(NameImportResult result, long line, String value, String message) {
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new NameImportResult.RowError(line, value, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private void write(List<ImportRow> rows, Long poolId, LocalDateTime now, boolean postgres) {
+        List<Long> ids = allocateIds(rows.size(), postgres);
+        if (postgres) {
+            copy(rows, ids, poolId, rotationEngine.startPass(poolId), now);
+        } else {
+            insert(rows, ids, poolId, rotationEngine.startPass(poolId), now);
+        }
+    }
+
+    // Stream the rows into the table with COPY, the fastest way to load PostgreSQL
+    private void copy(List<ImportRow> rows, List<Long> ids, Long poolId, long pass, LocalDateTime now) {
+        StringBuilder csv = new StringBuilder(rows.size() * 48);
+        String pool = poolId != null ? poolId.toString() : "";
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            csv.append(ids.get(i)).append(',')
+                    .append('"').append(row.name.replace("\"", "\"\"")).append('"').append(',')
+                    .append("0,0,").append(row.weight).append(",true,")
+                    .append(pool).append(',')
+                    .append(pass).append(',')
+                    .append(now).append('\n');
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                        "COPY names (id, name, display_count, special_task_count, weight, is_active, pool_id, rotation_pass, created_at) " +
+                        "FROM STDIN WITH (FORMAT csv)", new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to copy names: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private void insert(List<ImportRow> rows, List<Long> ids, Long poolId, long pass, LocalDateTime now) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        Timestamp createdAt = Timestamp.valueOf(now);
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            args.add(new Object[]{ids.get(i), row.name, 0, 0, row.weight, true, poolId, pass, createdAt});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO names (id, name, display_count, special_task_count, weight, is_active, pool_id, rotation_pass, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                args,
+                new int[]{Types.BIGINT, Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.BOOLEAN,
+                        Types.BIGINT, Types.BIGINT, Types.TIMESTAMP});
+    }
+
+    // Reserve count ids from names_seq, one sequence call per block of ids
+    private List<Long> allocateIds(int count, boolean postgres) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + ID_BLOCK - 1) / ID_BLOCK;
+            List<Long> values = postgres
+                    ? jdbcTemplate.queryForList("SELECT nextval('names_seq') FROM generate_series(1, ?)", Long.class, blocks)
+                    : List.of(jdbcTemplate.queryForObject("SELECT nextval('names_seq')", Long.class));
+            for (Long value : values) {
+                // The very first value of the sequence does not reserve a full block
+                if (value < ID_BLOCK) {
+                    continue;
+                }
+                for (long id = value - ID_BLOCK + 1; id <= value && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private boolean isPostgres() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(database);
+    }
+}
@@ -0,0 +1,380 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.dto.NameDto;
+import com.project.namerotation.repository.NameRepository;
+import com.project.namerotationsystem.model.Name;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// In-memory replica of the names table for the read paths (name lists, counts, name
+// lookups when validating boards and users), so they do not go to the database.
+// Readers get an immutable Snapshot without taking a lock; every change builds a new
+// snapshot from the previous one (copy on write, sharing the arrays it does not touch)
+// and publishes it with one volatile write. Loaded lazily from the database; NameService,
+// UserService and NameImportService keep it current, with changes applied after their
+// transaction commits, and TaskService's board writes reach it through NameService.
+@Component
+public class NameRegistry {
+
+    // Pool id of names in the default pool (pool ids start at 1)
+    private static final long DEFAULT_POOL = 0L;
+
+    // Last displayed day of a name that was never displayed
+    private static final long NEVER = Long.MIN_VALUE;
+
+    // All names, in id order. The arrays are never written once the snapshot is published.
+    public static final class Snapshot {
+        private final long[] ids;
+        private final String[] names;
+        private final long[] poolIds;
+        private final BitSet active;
+        private final long[] lastDisplayedDays;
+        private final int[] displayCounts;
+        private final int activeCount;
+
+        private Snapshot(long[] ids, String[] names, long[] poolIds, BitSet active,
+                         long[] lastDisplayedDays, int[] displayCounts) {
+            this.ids = ids;
+            this.names = names;
+            this.poolIds = poolIds;
+            this.active = active;
+            this.lastDisplayedDays = lastDisplayedDays;
+            this.displayCounts = displayCounts;
+            this.activeCount = active.cardinality();
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        public int getActiveCount() {
+            return activeCount;
+        }
+
+        // Position of a name, or -1 if there is no name with this id
+        public int indexOf(Long id) {
+            if (id == null) {
+                return -1;
+            }
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? index : -1;
+        }
+
+        public boolean contains(Long id) {
+            return indexOf(id) >= 0;
+        }
+
+        public Long getId(int index) {
+            return ids[index];
+        }
+
+        public String getName(int index) {
+            return names[index];
+        }
+
+        // Pool of the name at index, null for the default pool
+        public Long getPoolId(int index) {
+            return poolIds[index] != DEFAULT_POOL ? poolIds[index] : null;
+        }
+
+        public boolean isActive(int index) {
+            return active.get(index);
+        }
+
+        public LocalDate getLastDisplayedDate(int index) {
+            return lastDisplayedDays[index] != NEVER ? LocalDate.ofEpochDay(lastDisplayedDays[index]) : null;
+        }
+
+        public int getDisplayCount(int index) {
+            return displayCounts[index];
+        }
+
+        // Name of an id, or null if there is no such name
+        public String nameOf(Long id) {
+            int index = indexOf(id);
+            return index >= 0 ? names[index] : null;
+        }
+
+        // All names (or only the active ones) as DTOs, in id order
+        public List<NameDto> toDtos(boolean activeOnly) {
+            List<NameDto> dtos = new ArrayList<>(activeOnly ? activeCount : ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                if (!activeOnly || active.get(i)) {
+                    dtos.add(new NameDto(ids[i], names[i]));
+                }
+            }
+            return dtos;
+        }
+
+        // Names of one pool (null = default pool) as DTOs, in id order
+        public List<NameDto> toDtos(boolean activeOnly, Long poolId) {
+            long pool = poolId != null ? poolId : DEFAULT_POOL;
+            List<NameDto> dtos = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                if (poolIds[i] == pool && (!activeOnly || active.get(i))) {
+                    dtos.add(new NameDto(ids[i], names[i]));
+                }
+            }
+            return dtos;
+        }
+
+        // Copy with one name added or changed
+        private Snapshot with(long id, String name, long poolId, boolean isActive, long lastDisplayedDay,
+                              int displayCount) {
+            int index = Arrays.binarySearch(ids, id);
+            if (index >= 0) {
+                String[] newNames = names.clone();
+                long[] newPoolIds = poolIds.clone();
+                BitSet newActive = (BitSet) active.clone();
+                long[] newDays = lastDisplayedDays.clone();
+                int[] newCounts = displayCounts.clone();
+                newNames[index] = name;
+                newPoolIds[index] = poolId;
+                newActive.set(index, isActive);
+                newDays[index] = lastDisplayedDay;
+                newCounts[index] = displayCount;
+                return new Snapshot(ids, newNames, newPoolIds, newActive, newDays, newCounts);
+            }
+
+            // New ids come from a sequence, so this is nearly always an append
+            int at = -index - 1;
+            int n = ids.length;
+            long[] newIds = insert(ids, at, id);
+            String[] newNames = new String[n + 1];
+            System.arraycopy(names, 0, newNames, 0, at);
+            System.arraycopy(names, at, newNames, at + 1, n - at);
+            newNames[at] = name;
+            BitSet newActive = new BitSet(n + 1);
+            for (int i = active.nextSetBit(0); i >= 0; i = active.nextSetBit(i + 1)) {
+                newActive.set(i < at ? i : i + 1);
+            }
+            newActive.set(at, isActive);
+            int[] newCounts = new int[n + 1];
+            System.arraycopy(displayCounts, 0, newCounts, 0, at);
+            System.arraycopy(displayCounts, at, newCounts, at + 1, n - at);
+            newCounts[at] = displayCount;
+            return new Snapshot(newIds, newNames, insert(poolIds, at, poolId), newActive,
+                    insert(lastDisplayedDays, at, lastDisplayedDay), newCounts);
+        }
+
+        // Copy without the given names, in one pass however many there are
+        private Snapshot without(Set<Long> removedIds) {
+            int n = ids.length;
+            int kept = 0;
+            for (long id : ids) {
+                if (!removedIds.contains(id)) {
+                    kept++;
+                }
+            }
+            if (kept == n) {
+                return this;
+            }
+            long[] newIds = new long[kept];
+            String[] newNames = new String[kept];
+            long[] newPoolIds = new long[kept];
+            BitSet newActive = new BitSet(kept);
+            long[] newDays = new long[kept];
+            int[] newCounts = new int[kept];
+            int j = 0;
+            for (int i = 0; i < n; i++) {
+                if (removedIds.contains(ids[i])) {
+                    continue;
+                }
+                newIds[j] = ids[i];
+                newNames[j] = names[i];
+                newPoolIds[j] = poolIds[i];
+                newActive.set(j, active.get(i));
+                newDays[j] = lastDisplayedDays[i];
+                newCounts[j] = displayCounts[i];
+                j++;
+            }
+            return new Snapshot(newIds, newNames, newPoolIds, newActive, newDays, newCounts);
+        }
+
+        // Copy with the given names inactive; only the active set is copied
+        private Snapshot deactivated(Collection<Long> deactivatedIds) {
+            BitSet newActive = (BitSet) active.clone();
+            for (Long id : deactivatedIds) {
+                int index = indexOf(id);
+                if (index >= 0) {
+                    newActive.clear(index);
+                }
+            }
+            return new Snapshot(ids, names, poolIds, newActive, lastDisplayedDays, displayCounts);
+        }
+
+        // Copy with the display state of some names replaced; only the two touched arrays are copied
+        private Snapshot displayed(long[] changedIds, long[] changedDays, int[] changedCounts) {
+            long[] newDays = lastDisplayedDays.clone();
+            int[] newCounts = displayCounts.clone();
+            for (int i = 0; i < changedIds.length; i++) {
+                int index = indexOf(changedIds[i]);
+                if (index >= 0) {
+                    newDays[index] = changedDays[i];
+                    newCounts[index] = changedCounts[i];
+                }
+            }
+            return new Snapshot(ids, names, poolIds, active, newDays, newCounts);
+        }
+
+        private static long[] insert(long[] values, int at, long value) {
+            long[] copy = new long[values.length + 1];
+            System.arraycopy(values, 0, copy, 0, at);
+            System.arraycopy(values, at, copy, at + 1, values.length - at);
+            copy[at] = value;
+            return copy;
+        }
+    }
+
+    private final NameRepository nameRepository;
+
+    // Current snapshot, null until loaded; only replaced while holding the lock on this
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public NameRegistry(NameRepository nameRepository) {
+        this.nameRepository = nameRepository;
+    }
+
+    // Current snapshot of all names; lock-free once loaded
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : load();
+    }
+
+    // Call after a name was created or updated
+    public void nameSaved(Name name) {
+        long id = name.getId();
+        String text = name.getName();
+        long poolId = name.getPool() != null ? name.getPool().getId() : DEFAULT_POOL;
+        boolean active = !Boolean.FALSE.equals(name.getIsActive());
+        long lastDisplayedDay = name.getLastDisplayedDate() != null ? name.getLastDisplayedDate().toEpochDay() : NEVER;
+        int displayCount = name.getDisplayCount() != null ? name.getDisplayCount() : 0;
+        afterCommit(() -> {
+            synchronized (this) {
+                if (snapshot != null) {
+                    snapshot = snapshot.with(id, text, poolId, active, lastDisplayedDay, displayCount);
+                }
+            }
+        });
+    }
+
+    // Call after a name was deleted
+    public void nameRemoved(Long id) {
+        afterCommit(() -> {
+            synchronized (this) {
+                if (snapshot != null) {
+                    snapshot = snapshot.without(Set.of(id));
+                }
+            }
+        });
+    }
+
+    // Call after many names were deleted
+    public void namesRemoved(Collection<Long> ids) {
+        Set<Long> copy = new HashSet<>(ids);
+        afterCommit(() -> {
+            synchronized (this) {
+                if (snapshot != null) {
+                    snapshot = snapshot.without(copy);
+                }
+            }
+        });
+    }
+
+    // Call after many names were deactivated
+    public void namesDeactivated(Collection<Long> ids) {
+        List<Long> copy = new ArrayList<>(ids);
+        afterCommit(() -> {
+            synchronized (this) {
+                if (snapshot != null) {
+                    snapshot = snapshot.deactivated(copy);
+                }
+            }
+        });
+    }
+
+    // Call after names were shown on or taken off task boards, with their state as read back
+    // in the same transaction (id, lastDisplayedDate, displayCount first). The values are set,
+    // not added, so a snapshot loaded after the commit does not count the board twice.
+    public void namesDisplayed(List<Object[]> rows) {
+        int n = rows.size();
+        long[] changedIds = new long[n];
+        long[] changedDays = new long[n];
+        int[] changedCounts = new int[n];
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            LocalDate lastDisplayedDate = NativeValues.toLocalDate(row[1]);
+            changedIds[i] = ((Number) row[0]).longValue();
+            changedDays[i] = lastDisplayedDate != null ? lastDisplayedDate.toEpochDay() : NEVER;
+            changedCounts[i] = row[2] != null ? ((Number) row[2]).intValue() : 0;
+        }
+        afterCommit(() -> {
+            synchronized (this) {
+                if (snapshot != null) {
+                    snapshot = snapshot.displayed(changedIds, changedDays, changedCounts);
+                }
+            }
+        });
+    }
+
+    // Drop the snapshot once the current transaction commits; it is reloaded on next use
+    public void invalidate() {
+        afterCommit(() -> {
+            synchronized (this) {
+                snapshot = null;
+            }
+        });
+    }
+
+    // Loading holds the lock, so changes committed meanwhile are applied on top of it
+    private synchronized Snapshot load() {
+        if (snapshot != null) {
+            return snapshot;
+        }
+        List<Object[]> rows = nameRepository.findRegistryState();
+        int n = rows.size();
+        long[] ids = new long[n];
+        String[] names = new String[n];
+        long[] poolIds = new long[n];
+        BitSet active = new BitSet(n);
+        long[] lastDisplayedDays = new long[n];
+        int[] displayCounts = new int[n];
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            ids[i] = (Long) row[0];
+            names[i] = (String) row[1];
+            poolIds[i] = row[2] != null ? (Long) row[2] : DEFAULT_POOL;
+            active.set(i, !Boolean.FALSE.equals(row[3]));
+            lastDisplayedDays[i] = row[4] != null ? ((LocalDate) row[4]).toEpochDay() : NEVER;
+            displayCounts[i] = row[5] != null ? (Integer) row[5] : 0;
+        }
+        snapshot = new Snapshot(ids, names, poolIds, active, lastDisplayedDays, displayCounts);
+        return snapshot;
+    }
+
+    // Run the change once the current transaction commits, or right away without one
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,233 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.repository.NameRepository;
+import com.project.namerotationsystem.model.Name;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+// In-memory search index over active names for typeahead. Names are matched
+// case-insensitively: queries of one or two characters by word prefix (sorted word map),
+// longer queries as a substring (trigram posting sets, intersected, then verified).
+// Loaded lazily from the database; NameService, UserService and NameImportService keep it
+// current, with changes applied after their transaction commits.
+@Component
+public class NameSearchIndex {
+
+    private final NameRepository nameRepository;
+
+    // An indexed name
+    private static final class Indexed {
+        private final String name;
+        private final String key;
+        private final Long poolId;
+
+        Indexed(String name, String key, Long poolId) {
+            this.name = name;
+            this.key = key;
+            this.poolId = poolId;
+        }
+    }
+
+    // All fields are guarded by this
+    private boolean loaded;
+    private final Map<Long, Indexed> byId = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> words = new TreeMap<>();
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+
+    @Autowired
+    public NameSearchIndex(NameRepository nameRepository) {
+        this.nameRepository = nameRepository;
+    }
+
+    // Active names of a pool (null = default pool) matching the query, by id
+    public synchronized Map<Long, String> search(String query, Long poolId) {
+        ensureLoaded();
+        String q = normalize(query);
+        Map<Long, String> matches = new LinkedHashMap<>();
+        if (q.isEmpty()) {
+            return matches;
+        }
+
+        if (q.length() < 3) {
+            for (Set<Long> ids : words.subMap(q, true, q + Character.MAX_VALUE, true).values()) {
+                addMatches(matches, ids, poolId, null);
+            }
+            return matches;
+        }
+
+        // Start from the smallest posting set and check the others against it
+        Set<Long> smallest = null;
+        for (String trigram : trigramsOf(q)) {
+            Set<Long> ids = trigrams.get(trigram);
+            if (ids == null) {
+                return matches;
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        addMatches(matches, smallest, poolId, q);
+        return matches;
+    }
+
+    // Call after a name was created or updated
+    public void nameSaved(Name name) {
+        Long id = name.getId();
+        String text = name.getName();
+        Long poolId = name.getPool() != null ? name.getPool().getId() : null;
+        boolean active = !Boolean.FALSE.equals(name.getIsActive());
+        afterCommit(() -> {
+            synchronized (this) {
+                if (!loaded) {
+                    return;
+                }
+                remove(id);
+                if (active) {
+                    add(id, text, poolId);
+                }
+            }
+        });
+    }
+
+    // Call after a name was deleted
+    public void nameRemoved(Long id) {
+        afterCommit(() -> {
+            synchronized (this) {
+                if (loaded) {
+                    remove(id);
+                }
+            }
+        });
+    }
+
+    // Call after many names were deleted or deactivated
+    public void namesRemoved(Collection<Long> ids) {
+        List<Long> copy = new ArrayList<>(ids);
+        afterCommit(() -> {
+            synchronized (this) {
+                if (loaded) {
+                    copy.forEach(this::remove);
+                }
+            }
+        });
+    }
+
+    // Drop the index once the current transaction commits; it is reloaded on next use
+    public void invalidate() {
+        afterCommit(() -> {
+            synchronized (this) {
+                clear();
+            }
+        });
+    }
+
+    // Loading holds the lock, so changes committed meanwhile are applied on top of it
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        clear();
+        List<Object[]> rows = nameRepository.findActiveNamesForSearch();
+        for (Object[] row : rows) {
+            add((Long) row[0], (String) row[1], (Long) row[2]);
+        }
+        loaded = true;
+    }
+
+    private void clear() {
+        loaded = false;
+        byId.clear();
+        words.clear();
+        trigrams.clear();
+    }
+
+    private void addMatches(Map<Long, String> matches, Set<Long> ids, Long poolId, String substring) {
+        for (Long id : ids) {
+            Indexed indexed = byId.get(id);
+            if (Objects.equals(poolId, indexed.poolId) && (substring == null || indexed.key.contains(substring))) {
+                matches.put(id, indexed.name);
+            }
+        }
+    }
+
+    private void add(Long id, String name, Long poolId) {
+        String key = normalize(name);
+        byId.put(id, new Indexed(name, key, poolId));
+        for (String word : key.split(" ")) {
+            if (!word.isEmpty()) {
+                words.computeIfAbsent(word, w -> new HashSet<>()).add(id);
+            }
+        }
+        for (String trigram : trigramsOf(key)) {
+            trigrams.computeIfAbsent(trigram, t -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void remove(Long id) {
+        Indexed previous = byId.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String word : previous.key.split(" ")) {
+            removePosting(words, word, id);
+        }
+        for (String trigram : trigramsOf(previous.key)) {
+            removePosting(trigrams, trigram, id);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> index, String term, Long id) {
+        Set<Long> ids = index.get(term);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(term);
+            }
+        }
+    }
+
+    private static Set<String> trigramsOf(String key) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= key.length(); i++) {
+            result.add(key.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFC).trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Run the change once the current transaction commits, or right away without one
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.dto.NameSearchResult;
+import com.project.namerotation.repository.NameRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Typeahead search for the replacement picker. Matching names of a pool are returned in
+// rotation order, so whoever is next in line comes first; an empty query lists the next
+// names in line. Matching uses the in-memory NameSearchIndex, or with
+// rotation.name-search.mode=PG_TRGM on PostgreSQL a pg_trgm index on lower(name)
+// (the extension must be available; otherwise the in-memory index is used). The trigram
+// query orders its matches by rotation itself, so only the requested number is read.
+@Service
+public class NameSearchService {
+
+    public enum Mode {
+        MEMORY,
+        PG_TRGM
+    }
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(NameSearchService.class);
+
+    private final NameSearchIndex nameSearchIndex;
+    private final NameRegistry nameRegistry;
+    private final NameRepository nameRepository;
+    private final RotationEngine rotationEngine;
+    private final JdbcTemplate jdbcTemplate;
+    private final Mode requestedMode;
+
+    private volatile Mode mode = Mode.MEMORY;
+
+    @Autowired
+    public NameSearchService(NameSearchIndex nameSearchIndex, NameRegistry nameRegistry, NameRepository nameRepository,
+                             RotationEngine rotationEngine, JdbcTemplate jdbcTemplate,
+                             @Value("${rotation.name-search.mode:MEMORY}") Mode requestedMode) {
+        this.nameSearchIndex = nameSearchIndex;
+        this.nameRegistry = nameRegistry;
+        this.nameRepository = nameRepository;
+        this.rotationEngine = rotationEngine;
+        this.jdbcTemplate = jdbcTemplate;
+        this.requestedMode = requestedMode;
+    }
+
+    // Set up the trigram index once the schema exists
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (requestedMode != Mode.PG_TRGM) {
+            return;
+        }
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            log.info("Name search: pg_trgm needs PostgreSQL, using the in-memory index");
+            return;
+        }
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_names_name_trgm ON names " +
+                    "USING gin (lower(name) gin_trgm_ops)");
+            mode = Mode.PG_TRGM;
+        } catch (Exception e) {
+            log.warn("Name search: pg_trgm unavailable, using the in-memory index: {}", e.getMessage());
+        }
+    }
+
+    // Active names of a pool (null = default pool) matching the query, next in line first
+    public List<NameSearchResult> search(String query, Long poolId, Integer limit) {
+        int max = limit != null ? limit : DEFAULT_LIMIT;
+        if (max < 1 || max > MAX_LIMIT) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        List<NameSearchResult> results = new ArrayList<>(max);
+        String q = NameSearchIndex.normalize(query);
+        if (q.isEmpty()) {
+            NameRegistry.Snapshot names = nameRegistry.snapshot();
+            for (RotationQueue.Entry entry : rotationEngine.nextEntries(poolId, max)) {
+                results.add(toResult(entry, names.nameOf(entry.getId())));
+            }
+            return results;
+        }
+
+        Map<Long, String> matches = mode == Mode.PG_TRGM ? searchByTrigram(q, poolId, max) : nameSearchIndex.search(q, poolId);
+        for (RotationQueue.Entry entry : rotationEngine.inRotationOrder(poolId, matches.keySet())) {
+            if (results.size() == max) {
+                break;
+            }
+            results.add(toResult(entry, matches.get(entry.getId())));
+        }
+        return results;
+    }
+
+    // The first max matches in rotation order as stored in the database
+    private Map<Long, String> searchByTrigram(String q, Long poolId, int max) {
+        String pattern = "%" + q.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        boolean weighted = rotationEngine.getMode() == RotationQueue.Mode.WEIGHTED;
+        List<Object[]> rows = poolId == null
+                ? nameRepository.searchDefaultPoolByTrigram(pattern, weighted, max)
+                : nameRepository.searchPoolByTrigram(poolId, pattern, weighted, max);
+        Map<Long, String> matches = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            matches.put(((Number) row[0]).longValue(), (String) row[1]);
+        }
+        return matches;
+    }
+
+    private static NameSearchResult toResult(RotationQueue.Entry entry, String name) {
+        return new NameSearchResult(entry.getId(), name, entry.getLastDisplayedDate(), entry.getDisplayCount());
+    }
+}
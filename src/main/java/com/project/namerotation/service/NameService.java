@@ -1,20 +1,26 @@
 package com.project.namerotation.service;
 
+import com.project.namerotation.dto.NameBulkResult;
 import com.project.namerotation.dto.NameDto;
 import com.project.namerotation.repository.NameRepository;
 import com.project.namerotation.repository.UserRepository;
 import com.project.namerotation.repository.AnnouncementRepository;
 import com.project.namerotation.repository.UserActivityRepository;
 import com.project.namerotationsystem.model.Name;
+import com.project.namerotationsystem.model.RotationPool;
 import com.project.namerotationsystem.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,25 +30,45 @@ public class NameService {
     private final UserRepository userRepository;
     private final AnnouncementRepository announcementRepository;
     private final UserActivityRepository userActivityRepository;
+    private final RotationEngine rotationEngine;
+    private final TaskBoardCache taskBoardCache;
+    private final NameSearchIndex nameSearchIndex;
+    private final NameRegistry nameRegistry;
     
     @Autowired
     public NameService(NameRepository nameRepository, UserRepository userRepository, 
                       AnnouncementRepository announcementRepository,
-                      UserActivityRepository userActivityRepository) {
+                      UserActivityRepository userActivityRepository,
+                      RotationEngine rotationEngine, TaskBoardCache taskBoardCache,
+                      NameSearchIndex nameSearchIndex, NameRegistry nameRegistry) {
         this.nameRepository = nameRepository;
         this.userRepository = userRepository;
         this.announcementRepository = announcementRepository;
         this.userActivityRepository = userActivityRepository;
+        this.rotationEngine = rotationEngine;
+        this.taskBoardCache = taskBoardCache;
+        this.nameSearchIndex = nameSearchIndex;
+        this.nameRegistry = nameRegistry;
     }
     
     // Get all names
-    public List<Name> getAllNames() {
-        return nameRepository.findAll();
+    public List<NameDto> getAllNames() {
+        return nameRegistry.snapshot().toDtos(false);
     }
     
     // Get all active names
-    public List<Name> getAllActiveNames() {
-        return nameRepository.findByIsActiveTrue();
+    public List<NameDto> getAllActiveNames() {
+        return nameRegistry.snapshot().toDtos(true);
+    }
+    
+    // Get the names of a rotation pool (null = default pool)
+    public List<NameDto> getNamesInPool(Long poolId) {
+        return nameRegistry.snapshot().toDtos(false, poolId);
+    }
+    
+    // Get the active names of a rotation pool (null = default pool)
+    public List<NameDto> getActiveNamesInPool(Long poolId) {
+        return nameRegistry.snapshot().toDtos(true, poolId);
     }
     
     // Get names ordered by last displayed date (for fair rotation)
@@ -57,6 +83,11 @@ public class NameService {
     
     // Add new name
     public Name addName(String nameName) {
+        return addName(nameName, null);
+    }
+    
+    // Add new name to a rotation pool (null = default pool)
+    public Name addName(String nameName, RotationPool pool) {
         if (nameName == null || nameName.trim().isEmpty()) {
             throw new RuntimeException("Name cannot be empty");
         }
@@ -65,8 +96,14 @@ public class NameService {
         name.setName(nameName.trim());
         name.setIsActive(true);
         name.setDisplayCount(0);
+        name.setPool(pool);
+        name.setRotationPass(rotationEngine.startPass(pool != null ? pool.getId() : null));
         
-        return nameRepository.save(name);
+        Name savedName = nameRepository.save(name);
+        rotationEngine.nameSaved(savedName);
+        nameSearchIndex.nameSaved(savedName);
+        nameRegistry.nameSaved(savedName);
+        return savedName;
     }
     
     // Get name by ID
@@ -80,71 +117,212 @@ public class NameService {
                 .orElseThrow(() -> new RuntimeException("Name not found with id: " + id));
         
         name.setName(newName.trim());
-        return nameRepository.save(name);
+        Name savedName = nameRepository.save(name);
+        rotationEngine.nameSaved(savedName);
+        nameSearchIndex.nameSaved(savedName);
+        nameRegistry.nameSaved(savedName);
+        // Boards show the name
+        taskBoardCache.invalidateAll();
+        return savedName;
+    }
+    
+    // Update the rotation weight of a name (used in weighted selection mode)
+    public Name updateWeight(Long id, Integer weight) {
+        if (weight == null || weight < 1) {
+            throw new RuntimeException("Weight must be at least 1");
+        }
+        
+        Name name = nameRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Name not found with id: " + id));
+        
+        // A reweighted name rejoins at the pool's lowest pass instead of keeping a lead or debt
+        // built up at its old weight
+        if (!weight.equals(name.getWeight())) {
+            name.setWeight(weight);
+            name.setRotationPass(rotationEngine.startPass(name.getPool() != null ? name.getPool().getId() : null));
+        }
+        Name savedName = nameRepository.save(name);
+        rotationEngine.nameSaved(savedName);
+        return savedName;
     }
     
     // NEW: Enhanced delete name with complete cascade handling
     @Transactional
     public void deleteName(Long id) {
         try {
-            System.out.println("Starting delete process for name ID: " + id);
-            
             // 1. Find the name
             Name name = nameRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Name not found with id: " + id));
-            System.out.println("Found name: " + name.getName());
             
             // 2. Find associated user using the new method
             Optional<User> userOptional = userRepository.findByNameId(id);
             
             if (userOptional.isPresent()) {
                 User user = userOptional.get();
-                System.out.println("Found associated user: " + user.getUsername() + " (ID: " + user.getId() + ")");
                 
                 // 3. Handle all user dependencies in correct order:
                 
                 // 3a. Clear user references from announcements
                 announcementRepository.setSpecificUserToNull(user.getId());
-                System.out.println("Cleared user references from announcements");
                 
                 // 3b. Delete user activities (NEW)
                 userActivityRepository.deleteByUser(user);
-                System.out.println("Deleted user activities");
                 
                 // 3c. Delete the user
                 userRepository.delete(user);
-                System.out.println("User deleted successfully");
-            } else {
-                System.out.println("No associated user found for name ID: " + id);
             }
             
             // 4. Delete the name
             nameRepository.delete(name);
-            System.out.println("Name deleted successfully");
+            rotationEngine.nameRemoved(id);
+            nameSearchIndex.nameRemoved(id);
+            nameRegistry.nameRemoved(id);
+            // Boards show the name
+            taskBoardCache.invalidateAll();
             
         } catch (Exception e) {
-            System.err.println("Error during delete process: " + e.getMessage());
-            e.printStackTrace();
             throw new RuntimeException("Cannot delete name: " + e.getMessage());
         }
     }
     
+    // Delete many names with the same cascade as deleteName, run as one statement per table
+    // over the whole id array (announcements, activities, users, names) whatever its size.
+    // Names that still have tasks are kept, their history needs them; they are returned as
+    // skipped and can be deactivated instead.
+    @Transactional
+    public NameBulkResult deleteNames(Collection<Long> ids) {
+        Long[] nameIds = toIdArray(ids);
+        if (nameIds.length == 0) {
+            return new NameBulkResult(0, List.of());
+        }
+        List<Long> skippedIds = nameRepository.findIdsWithTasks(nameIds);
+        if (!skippedIds.isEmpty()) {
+            Set<Long> skipped = new HashSet<>(skippedIds);
+            nameIds = Arrays.stream(nameIds).filter(id -> !skipped.contains(id)).toArray(Long[]::new);
+            if (nameIds.length == 0) {
+                return new NameBulkResult(0, skippedIds);
+            }
+        }
+        announcementRepository.clearSpecificUsersOfNames(nameIds);
+        userActivityRepository.deleteByUserNameIds(nameIds);
+        userRepository.deleteByNameIds(nameIds);
+        int deleted = nameRepository.deleteByIds(nameIds);
+
+        List<Long> removedIds = List.of(nameIds);
+        rotationEngine.namesRemoved(removedIds);
+        nameSearchIndex.namesRemoved(removedIds);
+        nameRegistry.namesRemoved(removedIds);
+        // Boards show the names
+        taskBoardCache.invalidateAll();
+        return new NameBulkResult(deleted, skippedIds);
+    }
+    
+    // Take many names out of the rotation with a single UPDATE; they keep their history and
+    // user accounts. Returns the number of names found.
+    @Transactional
+    public int deactivateNames(Collection<Long> ids) {
+        Long[] nameIds = toIdArray(ids);
+        if (nameIds.length == 0) {
+            return 0;
+        }
+        int deactivated = nameRepository.deactivateByIds(nameIds);
+
+        List<Long> deactivatedIds = List.of(nameIds);
+        rotationEngine.namesRemoved(deactivatedIds);
+        nameSearchIndex.namesRemoved(deactivatedIds);
+        nameRegistry.namesDeactivated(deactivatedIds);
+        taskBoardCache.invalidateAll();
+        return deactivated;
+    }
+    
+    private static Long[] toIdArray(Collection<Long> ids) {
+        if (ids == null) {
+            throw new RuntimeException("Name ids are required");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new RuntimeException("Name ids cannot be null");
+        }
+        return ids.stream().distinct().toArray(Long[]::new);
+    }
+    
     // Update last displayed date and increment display count
     public void updateLastDisplayed(Name name) {
         name.setLastDisplayedDate(LocalDate.now());
         name.setDisplayCount(name.getDisplayCount() + 1);
         nameRepository.save(name);
+        rotationEngine.nameSaved(name);
+        nameRegistry.nameSaved(name);
+    }
+    
+    // Update last displayed date and increment display count for many names at once
+    @Transactional
+    public void markDisplayed(Long poolId, List<Long> ids, LocalDate date) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Long[] nameIds = ids.toArray(new Long[0]);
+        nameRepository.markDisplayed(date, nameIds);
+        rotationStateChanged(poolId, nameIds);
+    }
+    
+    // Take back the display of many names on a withdrawn board (session id and date)
+    @Transactional
+    public void unmarkDisplayed(Long poolId, Long sessionId, LocalDate date, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Long[] nameIds = ids.toArray(new Long[0]);
+        nameRepository.unmarkDisplayed(sessionId, date, nameIds);
+        rotationStateChanged(poolId, nameIds);
+    }
+    
+    // Count one more special task for many names at once
+    @Transactional
+    public void markSpecial(Long poolId, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Long[] nameIds = ids.toArray(new Long[0]);
+        nameRepository.markSpecial(nameIds);
+        rotationStateChanged(poolId, nameIds);
+    }
+    
+    // Take back the special tasks of many names on a withdrawn board
+    @Transactional
+    public void unmarkSpecial(Long poolId, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Long[] nameIds = ids.toArray(new Long[0]);
+        nameRepository.unmarkSpecial(nameIds);
+        rotationStateChanged(poolId, nameIds);
+    }
+    
+    // Pass the rotation state of names changed by a bulk UPDATE on to the in-memory copies
+    private void rotationStateChanged(Long poolId, Long[] nameIds) {
+        List<Object[]> rows = nameRepository.findRotationStateByIds(nameIds);
+        rotationEngine.namesChanged(poolId, rows);
+        nameRegistry.namesDisplayed(rows);
+    }
+    
+    // Get references to names by IDs without loading them (for foreign keys)
+    public List<Name> getNameReferences(List<Long> ids) {
+        return ids.stream()
+                .map(nameRepository::getReferenceById)
+                .collect(Collectors.toList());
     }
     
     // Get count of active names
     public long getActiveNamesCount() {
-        return nameRepository.findByIsActiveTrue().size();
+        return nameRegistry.snapshot().getActiveCount();
+    }
+    
+    // Get count of active names in a rotation pool (null = default pool)
+    public long getActiveNamesCount(Long poolId) {
+        return rotationEngine.getActiveCount(poolId);
     }
 
-    public Collection<NameDto> getNamesWithoutUserAccounts() {
-        List<Name> names = nameRepository.findNamesWithoutUserAccounts();
-        return names.stream()
-                .map(name -> new NameDto(name.getId(), name.getName()))
-                .collect(Collectors.toList());
+    public List<NameDto> getNamesWithoutUserAccounts() {
+        return nameRepository.findNameDtosWithoutUserAccounts();
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.project.namerotation.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+// Conversions of values read by native queries
+final class NativeValues {
+
+    private NativeValues() {
+    }
+
+    // Native queries may return dates as java.sql.Date depending on the driver
+    static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+}
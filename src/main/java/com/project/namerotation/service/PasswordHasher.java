@@ -0,0 +1,194 @@
+package com.project.namerotation.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs all BCrypt hashing and verification on its own fixed pool of threads
+// (rotation.password-hashing.threads), so a burst of logins cannot take every request
+// thread. At most queue-size operations wait for a thread; beyond that callers fail fast
+// with BusyException (503 on the auth endpoints) instead of queueing up. The work factor is
+// rotation.password-hashing.strength; hashes made with another one are redone on login.
+// Queue depth, rejections and wait and hash times are kept for the admin statistics.
+@Component
+public class PasswordHasher {
+
+    // Thrown when all hashing threads are busy and the queue is full
+    public static class BusyException extends RuntimeException {
+        public BusyException() {
+            super("Too many password checks in progress, please try again shortly");
+        }
+    }
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int queueSize;
+    private final int strength;
+
+    // Operations, rejections, and total/max nanoseconds spent waiting and hashing
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    @Autowired
+    public PasswordHasher(@Value("${rotation.password-hashing.threads:4}") int threads,
+                          @Value("${rotation.password-hashing.queue-size:32}") int queueSize,
+                          @Value("${rotation.password-hashing.strength:10}") int strength) {
+        if (threads < 1 || queueSize < 0) {
+            throw new IllegalArgumentException("Password hashing needs at least one thread and a queue size of 0 or more");
+        }
+        this.threads = threads;
+        this.queueSize = queueSize;
+        this.strength = strength;
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
+
+        BlockingQueue<Runnable> queue = queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>();
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue,
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Hash a password; throws BusyException if the pool is saturated
+    public String encode(String rawPassword) {
+        return await(submit(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    // Check a password against its hash; throws BusyException if the pool is saturated
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        return await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    // Whether a hash was made with another work factor than the configured one
+    public boolean needsRehash(String encodedPassword) {
+        // $2a$10$... : the work factor follows the second '$'
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // Hash many passwords in parallel; the hashes are returned in the same order. At most one
+    // operation per thread is in the pool at a time, so the queue stays free for logins; when
+    // it is full anyway, the batch is cancelled with BusyException like a single operation.
+    public List<String> encodeAll(List<String> rawPasswords) {
+        Semaphore inFlight = new Semaphore(threads);
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String rawPassword : rawPasswords) {
+                inFlight.acquire();
+                Callable<String> hash = () -> {
+                    try {
+                        return passwordEncoder.encode(rawPassword);
+                    } finally {
+                        inFlight.release();
+                    }
+                };
+                futures.add(submit(hash));
+            }
+        } catch (BusyException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Password hashing interrupted");
+        }
+
+        List<String> hashes = new ArrayList<>(futures.size());
+        for (Future<String> future : futures) {
+            hashes.add(await(future));
+        }
+        return hashes;
+    }
+
+    // Pool size, queue depth and timings
+    public Map<String, Object> getStats() {
+        long count = operations.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", threads);
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueCapacity", queueSize);
+        stats.put("strength", strength);
+        stats.put("operations", count);
+        stats.put("rejected", rejections.sum());
+        stats.put("averageWaitMillis", count > 0 ? waitNanos.sum() / count / 1_000_000.0 : 0.0);
+        stats.put("averageHashMillis", count > 0 ? hashNanos.sum() / count / 1_000_000.0 : 0.0);
+        stats.put("maxHashMillis", maxHashNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    // Queue an operation, timing its wait and run; rejected at once if the queue is full
+    private <T> Future<T> submit(Callable<T> operation) {
+        long queuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return operation.call();
+                } finally {
+                    long hashTime = System.nanoTime() - startedAt;
+                    operations.increment();
+                    waitNanos.add(startedAt - queuedAt);
+                    hashNanos.add(hashTime);
+                    maxHashNanos.accumulateAndGet(hashTime, Math::max);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new BusyException();
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Password hashing interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed: " + e.getCause().getMessage());
+        }
+    }
+}
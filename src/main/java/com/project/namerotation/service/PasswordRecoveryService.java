@@ -7,7 +7,6 @@ import com.project.namerotation.repository.VerificationCodeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,7 +24,7 @@ public class PasswordRecoveryService {
     private VerificationCodeRepository verificationCodeRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Autowired
     private JavaMailSender mailSender;
@@ -139,7 +138,7 @@ public class PasswordRecoveryService {
                 Optional<User> user = userRepository.findByEmail(email);
                 if (user.isPresent()) {
                     User u = user.get();
-                    u.setPassword(passwordEncoder.encode(newPassword));
+                    u.setPassword(passwordHasher.encode(newPassword));
                     userRepository.save(u);
                     
                     // Delete used codes
@@ -0,0 +1,49 @@
+package com.project.namerotation.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// One session drawn from a rotation queue: the board, its special task names and
+// the inputs of the special task draw (seed and the board's special task counts). Shared by schedule precomputation and the
+// offline simulator so both run exactly the production selection.
+public final class RotationDraw {
+
+    private final List<Long> selectedIds;
+    private final List<Long> specialIds;
+    private final long seed;
+    private final int[] specialTaskCounts;
+
+    private RotationDraw(List<Long> selectedIds, List<Long> specialIds, long seed, int[] specialTaskCounts) {
+        this.selectedIds = selectedIds;
+        this.specialIds = specialIds;
+        this.seed = seed;
+        this.specialTaskCounts = specialTaskCounts;
+    }
+
+    // Pick the next board from the queue and record it (displayed and special names) in the queue
+    public static RotationDraw next(RotationQueue queue, int numberOfNames, int specialTaskCount,
+                                    LocalDate sessionDate, long seed) {
+        List<Long> selectedIds = queue.poll(numberOfNames, sessionDate);
+        int[] specialTaskCounts = queue.getSpecialTaskCounts(selectedIds);
+        List<Long> specialIds = SpecialTaskSampler.sample(selectedIds, specialTaskCount, seed, specialTaskCounts);
+        queue.markSpecial(specialIds);
+        return new RotationDraw(selectedIds, specialIds, seed, specialTaskCounts);
+    }
+
+    public List<Long> getSelectedIds() {
+        return selectedIds;
+    }
+
+    public List<Long> getSpecialIds() {
+        return specialIds;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Special task counts of the selected names before the draw, in board order
+    public int[] getSpecialTaskCounts() {
+        return specialTaskCounts;
+    }
+}
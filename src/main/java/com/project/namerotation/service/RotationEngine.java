@@ -0,0 +1,312 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.repository.NameRepository;
+import com.project.namerotationsystem.model.Name;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps the fairness order of active names in memory so that picking the next
+// k names does not reload and re-sort the whole names table on every generation.
+// There is one queue per rotation pool (a null pool id means the default pool), each
+// loaded lazily from the database and guarded by its own lock, so pools can be
+// generated in parallel. The ordering (last displayed date or weighted stride
+// scheduling) is chosen with rotation.selection-mode. The queues are kept in sync
+// by NameService, UserService and TaskService; changes are applied just before their
+// transaction commits, while its locks are still held, and dropped if it rolls back.
+// A queue is loaded outside the map and only kept if no change was applied and no writing
+// transaction ended while it loaded; otherwise it may have missed a change and is loaded again.
+@Component
+public class RotationEngine {
+
+    // Map key of the default pool (pool ids start at 1)
+    private static final long DEFAULT_POOL = 0L;
+
+    private final NameRepository nameRepository;
+    private final RotationQueue.Mode mode;
+
+    // Loads of one queue before giving up on caching it while changes keep coming in
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    // Loaded queues by pool; a missing entry is (re)loaded on next use
+    private final Map<Long, RotationQueue> queues = new ConcurrentHashMap<>();
+
+    // Counts applied changes and ended writing transactions; guarded by loadLock, which is
+    // also held while a change is applied and while a loaded queue is put in the map
+    private final Object loadLock = new Object();
+    private long changes;
+
+    @Autowired
+    public RotationEngine(NameRepository nameRepository,
+                          @Value("${rotation.selection-mode:LAST_DISPLAYED}") RotationQueue.Mode mode) {
+        this.nameRepository = nameRepository;
+        this.mode = mode;
+    }
+
+    // Ids of the next k names of a pool in fairness order
+    public List<Long> selectNext(Long poolId, int k) {
+        RotationQueue queue = loadedQueue(poolId);
+        synchronized (queue) {
+            return queue.peek(k);
+        }
+    }
+
+    // Ids of the next k names of a pool in fairness order, skipping the excluded ones
+    public List<Long> selectNext(Long poolId, int k, Set<Long> excluded) {
+        RotationQueue queue = loadedQueue(poolId);
+        synchronized (queue) {
+            return queue.peek(k, excluded);
+        }
+    }
+
+    // Rotation state of the next k names of a pool, next in line first
+    public List<RotationQueue.Entry> nextEntries(Long poolId, int k) {
+        RotationQueue queue = loadedQueue(poolId);
+        synchronized (queue) {
+            return queue.peekEntries(k);
+        }
+    }
+
+    public RotationQueue.Mode getMode() {
+        return mode;
+    }
+
+    // Rotation state of the given names of a pool, next in line first (other names left out)
+    public List<RotationQueue.Entry> inRotationOrder(Long poolId, Collection<Long> ids) {
+        RotationQueue queue = loadedQueue(poolId);
+        synchronized (queue) {
+            return queue.inOrder(ids);
+        }
+    }
+
+    // Independent copy of a pool's rotation order, for simulating future sessions
+    public RotationQueue snapshot(Long poolId) {
+        RotationQueue queue = loadedQueue(poolId);
+        synchronized (queue) {
+            return new RotationQueue(queue);
+        }
+    }
+
+    // Copy of a pool's rotation order read from the database, so that it includes the changes
+    // of the current transaction that are not applied to the shared queue yet
+    public RotationQueue loadSnapshot(Long poolId) {
+        return load(poolId);
+    }
+
+    // Special task names out of a pool's board, fewest special tasks first (see SpecialTaskSampler)
+    public List<Long> selectSpecial(Long poolId, List<Long> boardIds, int count, long seed) {
+        RotationQueue queue = loadedQueue(poolId);
+        synchronized (queue) {
+            return SpecialTaskSampler.sample(boardIds, count, seed, queue::getSpecialTaskCount);
+        }
+    }
+
+    // Special task counts of names of a pool, in the given order (the input of a special task draw)
+    public int[] getSpecialTaskCounts(Long poolId, List<Long> ids) {
+        RotationQueue queue = loadedQueue(poolId);
+        synchronized (queue) {
+            return queue.getSpecialTaskCounts(ids);
+        }
+    }
+
+    // Number of active names in a pool
+    public int getActiveCount(Long poolId) {
+        RotationQueue queue = loadedQueue(poolId);
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    // Call after a name was created or updated
+    public void nameSaved(Name name) {
+        Long id = name.getId();
+        long poolKey = poolKey(name.getPool() != null ? name.getPool().getId() : null);
+        LocalDate lastDisplayedDate = name.getLastDisplayedDate();
+        int displayCount = name.getDisplayCount() != null ? name.getDisplayCount() : 0;
+        int weight = name.getWeight() != null ? name.getWeight() : 1;
+        int specialTaskCount = name.getSpecialTaskCount() != null ? name.getSpecialTaskCount() : 0;
+        long pass = name.getRotationPass() != null ? name.getRotationPass() : 0L;
+        boolean active = !Boolean.FALSE.equals(name.getIsActive());
+
+        applyOnCommit(poolKey, () -> queues.forEach((key, queue) -> {
+            synchronized (queue) {
+                if (active && key == poolKey) {
+                    queue.upsert(id, lastDisplayedDate, displayCount, weight, specialTaskCount, pass);
+                } else {
+                    queue.remove(id);
+                }
+            }
+        }));
+    }
+
+    // Pass a name joining the pool's rotation (or changing its weight) starts at, so it does not
+    // catch up on the boards it missed
+    public long startPass(Long poolId) {
+        RotationQueue queue = loadedQueue(poolId);
+        synchronized (queue) {
+            return queue.startPass();
+        }
+    }
+
+    // Call after a name was deleted
+    public void nameRemoved(Long id) {
+        applyOnCommit(null, () -> queues.values().forEach(queue -> {
+            synchronized (queue) {
+                queue.remove(id);
+            }
+        }));
+    }
+
+    // Call after many names were deleted or deactivated
+    public void namesRemoved(Collection<Long> ids) {
+        List<Long> copy = new ArrayList<>(ids);
+        applyOnCommit(null, () -> queues.values().forEach(queue -> {
+            synchronized (queue) {
+                copy.forEach(queue::remove);
+            }
+        }));
+    }
+
+    // Call after many names of a pool were written directly to the database; the pool's
+    // queue is reloaded on next use instead of being updated name by name
+    public void namesImported(Long poolId) {
+        long poolKey = poolKey(poolId);
+        applyOnCommit(poolKey, () -> queues.remove(poolKey));
+    }
+
+    // Call after the rotation state of names of a pool was changed in the database, with the
+    // state as read back in the same transaction (id, lastDisplayedDate, displayCount, weight,
+    // specialTaskCount, isActive, rotationPass). The values are set, not added, so the change can also take
+    // a board back.
+    public void namesChanged(Long poolId, List<Object[]> rows) {
+        long poolKey = poolKey(poolId);
+        List<Object[]> copy = new ArrayList<>(rows);
+        applyOnCommit(poolKey, () -> {
+            RotationQueue queue = queues.get(poolKey);
+            if (queue != null) {
+                synchronized (queue) {
+                    for (Object[] row : copy) {
+                        long id = ((Number) row[0]).longValue();
+                        if (Boolean.FALSE.equals(row[5])) {
+                            queue.remove(id);
+                        } else {
+                            queue.upsert(id, NativeValues.toLocalDate(row[1]), toInt(row[2], 0), toInt(row[3], 1),
+                                    toInt(row[4], 0), toLong(row[6]));
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    // Drop the in-memory state; it is reloaded from the database on next use
+    public void invalidate() {
+        synchronized (loadLock) {
+            changes++;
+            queues.clear();
+        }
+    }
+
+    // The pool's queue, loaded from the database if it is not in memory. The query runs
+    // without holding a lock; the result is only kept if nothing changed meanwhile.
+    private RotationQueue loadedQueue(Long poolId) {
+        long poolKey = poolKey(poolId);
+        RotationQueue queue = queues.get(poolKey);
+        for (int attempt = 1; queue == null; attempt++) {
+            long seen;
+            synchronized (loadLock) {
+                seen = changes;
+            }
+            RotationQueue loaded = load(poolId);
+            synchronized (loadLock) {
+                queue = queues.get(poolKey);
+                if (queue == null && changes == seen) {
+                    queues.put(poolKey, loaded);
+                    queue = loaded;
+                } else if (queue == null && attempt >= MAX_LOAD_ATTEMPTS) {
+                    // Good enough for this caller, but not kept
+                    return loaded;
+                }
+            }
+        }
+        return queue;
+    }
+
+    private RotationQueue load(Long poolId) {
+        List<Object[]> rows = poolId == null
+                ? nameRepository.findActiveRotationState()
+                : nameRepository.findActiveRotationStateByPool(poolId);
+        RotationQueue loaded = new RotationQueue(mode);
+        for (Object[] row : rows) {
+            Integer displayCount = (Integer) row[2];
+            Integer weight = (Integer) row[3];
+            Integer specialTaskCount = (Integer) row[4];
+            loaded.upsert((Long) row[0], (LocalDate) row[1], displayCount != null ? displayCount : 0,
+                    weight != null ? weight : 1, specialTaskCount != null ? specialTaskCount : 0, toLong(row[5]));
+        }
+        return loaded;
+    }
+
+    private static int toInt(Object value, int defaultValue) {
+        return value != null ? ((Number) value).intValue() : defaultValue;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static long poolKey(Long poolId) {
+        return poolId != null ? poolId : DEFAULT_POOL;
+    }
+
+    // Run the change when the surrounding transaction is about to commit, so that the
+    // next transaction waiting on the same session lock already sees it. If the transaction
+    // then rolls back, drop the cached state of the pool (all pools if null).
+    // Without a transaction, apply it right away.
+    private void applyOnCommit(Long poolKey, Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                apply(change);
+            }
+
+            // A queue loaded before the commit became visible may miss it, so loads that
+            // overlap the end of the transaction are not kept either
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (loadLock) {
+                    changes++;
+                    if (status == STATUS_COMMITTED) {
+                        return;
+                    }
+                    if (poolKey != null) {
+                        queues.remove(poolKey);
+                    } else {
+                        queues.clear();
+                    }
+                }
+            }
+        });
+    }
+
+    private void apply(Runnable change) {
+        synchronized (loadLock) {
+            changes++;
+            change.run();
+        }
+    }
+}
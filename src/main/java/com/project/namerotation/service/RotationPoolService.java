@@ -0,0 +1,100 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.repository.RotationPoolRepository;
+import com.project.namerotationsystem.model.Name;
+import com.project.namerotationsystem.model.RotationPool;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+@Service
+public class RotationPoolService {
+
+    private final RotationPoolRepository rotationPoolRepository;
+    private final NameService nameService;
+    private final TaskService taskService;
+
+    // Generates pools in parallel; each pool uses its own DB connection, so keep
+    // this below the connection pool size
+    private final ForkJoinPool generationPool;
+
+    @Autowired
+    public RotationPoolService(RotationPoolRepository rotationPoolRepository,
+                               NameService nameService, TaskService taskService,
+                               @Value("${rotation.generation.parallelism:4}") int parallelism) {
+        this.rotationPoolRepository = rotationPoolRepository;
+        this.nameService = nameService;
+        this.taskService = taskService;
+        this.generationPool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        generationPool.shutdown();
+    }
+
+    // Get all pools
+    public List<RotationPool> getAllPools() {
+        return rotationPoolRepository.findAll();
+    }
+
+    // Create a new pool
+    public RotationPool createPool(String poolName, Integer boardSize) {
+        if (poolName == null || poolName.trim().isEmpty()) {
+            throw new RuntimeException("Pool name cannot be empty");
+        }
+        if (boardSize == null || boardSize < 4) {
+            throw new RuntimeException("Board size must be at least 4 (for special task selection)");
+        }
+        if (rotationPoolRepository.existsByName(poolName.trim())) {
+            throw new RuntimeException("Pool already exists: " + poolName.trim());
+        }
+
+        return rotationPoolRepository.save(new RotationPool(poolName.trim(), boardSize));
+    }
+
+    // Add a new name to a pool
+    public Name addName(Long poolId, String nameName) {
+        RotationPool pool = rotationPoolRepository.findById(poolId)
+                .orElseThrow(() -> new RuntimeException("Pool not found with id: " + poolId));
+        return nameService.addName(nameName, pool);
+    }
+
+    // Generate today's board of one pool with its configured board size
+    public void generatePool(Long poolId) {
+        RotationPool pool = rotationPoolRepository.findById(poolId)
+                .orElseThrow(() -> new RuntimeException("Pool not found with id: " + poolId));
+        taskService.generateTasks(pool.getId(), pool.getBoardSize());
+    }
+
+    // Generate today's boards of all pools in parallel, one transaction per pool.
+    // Returns the error message of every pool that could not be generated.
+    public Map<String, String> generateAllPools() {
+        List<RotationPool> pools = rotationPoolRepository.findAll();
+        Map<String, String> failures = new ConcurrentHashMap<>();
+
+        try {
+            generationPool.submit(() -> pools.parallelStream().forEach(pool -> {
+                try {
+                    taskService.generateTasks(pool.getId(), pool.getBoardSize());
+                } catch (Exception e) {
+                    failures.put(pool.getName(), e.getMessage());
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Pool generation interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Pool generation failed: " + e.getCause().getMessage());
+        }
+
+        return failures;
+    }
+}
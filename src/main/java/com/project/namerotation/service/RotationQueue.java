@@ -0,0 +1,258 @@
+package com.project.namerotation.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// In-memory fairness order of active names.
+// In LAST_DISPLAYED mode names are kept sorted by (lastDisplayedDate NULLS FIRST,
+// displayCount, id). In WEIGHTED mode they are sorted by stride scheduling: each name has a
+// pass that advances by its stride STRIDE_UNIT / weight every time it is picked, and names
+// are ordered by the pass they would reach with their next pick, so over time each name is
+// picked in proportion to its weight. A new or reweighted name starts at the lowest pass in
+// the queue, so it joins the rotation where the others are instead of catching up on the
+// picks it missed. Either way the next k names are the first k entries of the set and
+// every update is O(log n).
+// Not thread-safe: callers (RotationEngine) guard access.
+public class RotationQueue {
+
+    public enum Mode {
+        LAST_DISPLAYED,
+        WEIGHTED
+    }
+
+    // Pass advance of a pick at weight 1; divisible by every weight up to 16
+    public static final long STRIDE_UNIT = 720_720L;
+
+    // Immutable position of a name in the rotation order
+    public static final class Entry {
+        private final long id;
+        private final LocalDate lastDisplayedDate;
+        private final int displayCount;
+        private final int weight;
+        private final int specialTaskCount;
+        private final long pass;
+
+        public Entry(long id, LocalDate lastDisplayedDate, int displayCount, int weight, int specialTaskCount,
+                     long pass) {
+            this.id = id;
+            this.lastDisplayedDate = lastDisplayedDate;
+            this.displayCount = displayCount;
+            this.weight = weight;
+            this.specialTaskCount = specialTaskCount;
+            this.pass = pass;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public LocalDate getLastDisplayedDate() {
+            return lastDisplayedDate;
+        }
+
+        public int getDisplayCount() {
+            return displayCount;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public int getSpecialTaskCount() {
+            return specialTaskCount;
+        }
+
+        public long getPass() {
+            return pass;
+        }
+
+        // Pass advance of one pick
+        public long getStride() {
+            return STRIDE_UNIT / weight;
+        }
+    }
+
+    static final Comparator<Entry> FAIRNESS_ORDER = Comparator
+            .comparing(Entry::getLastDisplayedDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingInt(Entry::getDisplayCount)
+            .thenComparingLong(Entry::getId);
+
+    // Smallest pass after the next pick first; ties go to the name displayed longest ago
+    static final Comparator<Entry> STRIDE_ORDER = Comparator
+            .comparingLong((Entry entry) -> entry.getPass() + entry.getStride())
+            .thenComparing(FAIRNESS_ORDER);
+
+    private final Mode mode;
+    private final TreeSet<Entry> order;
+    private final Map<Long, Entry> byId = new HashMap<>();
+    // Passes of the entries with the number of entries at each, for the lowest pass
+    private final TreeMap<Long, Integer> passes = new TreeMap<>();
+
+    public RotationQueue() {
+        this(Mode.LAST_DISPLAYED);
+    }
+
+    public RotationQueue(Mode mode) {
+        this.mode = mode;
+        this.order = new TreeSet<>(mode == Mode.WEIGHTED ? STRIDE_ORDER : FAIRNESS_ORDER);
+    }
+
+    // Copy constructor: entries are immutable, so sharing them is safe
+    public RotationQueue(RotationQueue other) {
+        this(other.mode);
+        this.order.addAll(other.order);
+        this.byId.putAll(other.byId);
+        this.passes.putAll(other.passes);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    // Add a name with the default weight or move it to its new position
+    public void upsert(long id, LocalDate lastDisplayedDate, int displayCount) {
+        upsert(id, lastDisplayedDate, displayCount, 1, 0);
+    }
+
+    // Add a name or move it to its new position; weights below 1 count as 1. A name keeps its
+    // pass; a new name, or one whose weight changed, starts at the lowest pass in the queue.
+    public void upsert(long id, LocalDate lastDisplayedDate, int displayCount, int weight, int specialTaskCount) {
+        Entry previous = byId.get(id);
+        long pass = previous != null && previous.getWeight() == Math.max(weight, 1) ? previous.getPass() : startPass();
+        upsert(id, lastDisplayedDate, displayCount, weight, specialTaskCount, pass);
+    }
+
+    // Add a name or move it to its new position with a known pass (as stored in the database)
+    public void upsert(long id, LocalDate lastDisplayedDate, int displayCount, int weight, int specialTaskCount,
+                       long pass) {
+        remove(id);
+        Entry entry = new Entry(id, lastDisplayedDate, displayCount, Math.max(weight, 1), specialTaskCount, pass);
+        byId.put(id, entry);
+        order.add(entry);
+        passes.merge(pass, 1, Integer::sum);
+    }
+
+    // Lowest pass of the names in the queue (0 when empty), where new and reweighted names start
+    public long startPass() {
+        return passes.isEmpty() ? 0L : passes.firstKey();
+    }
+
+    public void remove(long id) {
+        Entry previous = byId.remove(id);
+        if (previous != null) {
+            order.remove(previous);
+            passes.computeIfPresent(previous.getPass(), (pass, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    public boolean contains(long id) {
+        return byId.containsKey(id);
+    }
+
+    public Entry get(long id) {
+        return byId.get(id);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // Ids of the next k names in fairness order, without changing the queue
+    public List<Long> peek(int k) {
+        List<Long> ids = new ArrayList<>(Math.min(k, order.size()));
+        Iterator<Entry> it = order.iterator();
+        while (ids.size() < k && it.hasNext()) {
+            ids.add(it.next().getId());
+        }
+        return ids;
+    }
+
+    // Ids of the next k names in fairness order that are not excluded, without changing the queue
+    public List<Long> peek(int k, Set<Long> excluded) {
+        List<Long> ids = new ArrayList<>(Math.min(k, order.size()));
+        Iterator<Entry> it = order.iterator();
+        while (ids.size() < k && it.hasNext()) {
+            long id = it.next().getId();
+            if (!excluded.contains(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    // Entries of the next k names in fairness order, without changing the queue
+    public List<Entry> peekEntries(int k) {
+        List<Entry> entries = new ArrayList<>(Math.min(k, order.size()));
+        Iterator<Entry> it = order.iterator();
+        while (entries.size() < k && it.hasNext()) {
+            entries.add(it.next());
+        }
+        return entries;
+    }
+
+    // Entries of the given names in fairness order; names not in the queue are left out
+    public List<Entry> inOrder(Collection<Long> ids) {
+        List<Entry> entries = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Entry entry = byId.get(id);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(order.comparator());
+        return entries;
+    }
+
+    // Record that the given names were displayed on the given date
+    public void markDisplayed(Collection<Long> ids, LocalDate date) {
+        for (Long id : ids) {
+            Entry previous = byId.get(id);
+            if (previous != null) {
+                upsert(id, date, previous.getDisplayCount() + 1, previous.getWeight(),
+                        previous.getSpecialTaskCount(), previous.getPass() + previous.getStride());
+            }
+        }
+    }
+
+    // Record that the given names got a special task
+    public void markSpecial(Collection<Long> ids) {
+        for (Long id : ids) {
+            Entry previous = byId.get(id);
+            if (previous != null) {
+                upsert(id, previous.getLastDisplayedDate(), previous.getDisplayCount(), previous.getWeight(),
+                        previous.getSpecialTaskCount() + 1, previous.getPass());
+            }
+        }
+    }
+
+    // Special task count of a name, 0 if it is not in the queue
+    public int getSpecialTaskCount(long id) {
+        Entry entry = byId.get(id);
+        return entry != null ? entry.getSpecialTaskCount() : 0;
+    }
+
+    // Special task counts of many names, in the given order
+    public int[] getSpecialTaskCounts(List<Long> ids) {
+        int[] counts = new int[ids.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = getSpecialTaskCount(ids.get(i));
+        }
+        return counts;
+    }
+
+    // Pick the next k names and move them to the back of the order
+    public List<Long> poll(int k, LocalDate date) {
+        List<Long> ids = peek(k);
+        markDisplayed(ids, date);
+        return ids;
+    }
+}
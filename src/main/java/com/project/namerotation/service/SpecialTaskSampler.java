@@ -0,0 +1,73 @@
+package com.project.namerotation.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+// Picks the special-task names out of a board.
+// Names with the fewest special tasks so far win; ties are broken by a random
+// priority drawn from a SplittableRandom seeded per session, so the same seed,
+// board order and special task counts always give the same draw (for audits).
+// Runs in one pass over the board and only allocates arrays of the sample size,
+// without copying or shuffling the board.
+public final class SpecialTaskSampler {
+
+    private SpecialTaskSampler() {
+    }
+
+    public static List<Long> sample(List<Long> boardIds, int count, long seed,
+                                    ToIntFunction<Long> specialTaskCount) {
+        return draw(boardIds, count, seed, i -> specialTaskCount.applyAsInt(boardIds.get(i)));
+    }
+
+    // Same draw with the special task counts given in board order, as stored with the board
+    public static List<Long> sample(List<Long> boardIds, int count, long seed, int[] specialTaskCounts) {
+        return draw(boardIds, count, seed, i -> specialTaskCounts[i]);
+    }
+
+    private static List<Long> draw(List<Long> boardIds, int count, long seed, IntUnaryOperator specialTaskCountAt) {
+        int capacity = Math.min(count, boardIds.size());
+        long[] ids = new long[capacity];
+        int[] counts = new int[capacity];
+        long[] priorities = new long[capacity];
+        int size = 0;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int index = 0; index < boardIds.size(); index++) {
+            Long id = boardIds.get(index);
+            int candidateCount = specialTaskCountAt.applyAsInt(index);
+            long priority = random.nextLong();
+
+            // Keep the best `capacity` candidates sorted, best first
+            int position = size;
+            while (position > 0 && isBetter(candidateCount, priority, counts[position - 1], priorities[position - 1])) {
+                position--;
+            }
+            if (position >= capacity) {
+                continue;
+            }
+            int last = Math.min(size, capacity - 1);
+            for (int i = last; i > position; i--) {
+                ids[i] = ids[i - 1];
+                counts[i] = counts[i - 1];
+                priorities[i] = priorities[i - 1];
+            }
+            ids[position] = id;
+            counts[position] = candidateCount;
+            priorities[position] = priority;
+            size = Math.min(size + 1, capacity);
+        }
+
+        List<Long> sample = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sample.add(ids[i]);
+        }
+        return sample;
+    }
+
+    private static boolean isBetter(int count, long priority, int otherCount, long otherPriority) {
+        return count < otherCount || (count == otherCount && priority < otherPriority);
+    }
+}
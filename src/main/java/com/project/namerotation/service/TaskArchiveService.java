@@ -0,0 +1,295 @@
+package com.project.namerotation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.namerotation.dto.TaskHistoryEntry;
+import com.project.namerotation.repository.GenerationRequestRepository;
+import com.project.namerotation.repository.RotationSessionRepository;
+import com.project.namerotation.repository.SessionLockRepository;
+import com.project.namerotation.repository.TaskAssignmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Moves published boards older than the archive horizon out of the database into one
+// gzip-compressed NDJSON file per month (task-history-YYYY-MM.ndjson.gz, one
+// TaskHistoryEntry per line). Whole months are archived at once, each in its own
+// transaction: the file is written first, then the month's tasks (its partition on
+// PostgreSQL), sessions, lock rows and generation records are removed. Archived days
+// stay readable through archivedEntries. Which months have an archive is recorded in a
+// manifest (archive-manifest.json) once their transaction commits, and the last few
+// decoded months are kept in memory, so paging through history does not unzip a file
+// per page.
+@Service
+public class TaskArchiveService {
+
+    private static final String MANIFEST_FILE = "archive-manifest.json";
+    private static final Pattern ARCHIVE_FILE_NAME = Pattern.compile("task-history-(\\d{4}-\\d{2})\\.ndjson\\.gz");
+
+    // Decoded archive months kept in memory
+    private static final int CACHED_MONTHS = 12;
+
+    private final TaskAssignmentRepository taskAssignmentRepository;
+    private final RotationSessionRepository rotationSessionRepository;
+    private final SessionLockRepository sessionLockRepository;
+    private final GenerationRequestRepository generationRequestRepository;
+    private final TaskPartitionManager partitionManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Path archiveDir;
+    private final int horizonDays;
+
+    // Archived months from the manifest, loaded on first use
+    private NavigableSet<YearMonth> archivedMonths;
+
+    // Recently read months, least recently used first
+    private final Map<YearMonth, List<TaskHistoryEntry>> decodedMonths =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<YearMonth, List<TaskHistoryEntry>> eldest) {
+                    return size() > CACHED_MONTHS;
+                }
+            };
+
+    @Autowired
+    public TaskArchiveService(TaskAssignmentRepository taskAssignmentRepository,
+                              RotationSessionRepository rotationSessionRepository,
+                              SessionLockRepository sessionLockRepository,
+                              GenerationRequestRepository generationRequestRepository,
+                              TaskPartitionManager partitionManager,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${rotation.archive.dir:archive}") String archiveDir,
+                              @Value("${rotation.archive.horizon-days:365}") int horizonDays) {
+        this.taskAssignmentRepository = taskAssignmentRepository;
+        this.rotationSessionRepository = rotationSessionRepository;
+        this.sessionLockRepository = sessionLockRepository;
+        this.generationRequestRepository = generationRequestRepository;
+        this.partitionManager = partitionManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveDir = Paths.get(archiveDir);
+        this.horizonDays = horizonDays;
+    }
+
+    // Nightly: archive the months that are entirely past the horizon
+    @Scheduled(cron = "0 30 2 * * ?")
+    public void archiveOldSessions() {
+        archiveOldSessions(LocalDate.now());
+    }
+
+    // Archive every month that ended before the horizon counted back from the given day;
+    // returns the archived months, oldest first
+    public List<YearMonth> archiveOldSessions(LocalDate today) {
+        YearMonth firstKept = YearMonth.from(today.minusDays(horizonDays));
+        LocalDate oldest = rotationSessionRepository.findOldestSessionDate();
+
+        List<YearMonth> archived = new ArrayList<>();
+        if (oldest == null) {
+            return archived;
+        }
+        for (YearMonth month = YearMonth.from(oldest); month.isBefore(firstKept); month = month.plusMonths(1)) {
+            YearMonth current = month;
+            // Listed only after the rows are gone, so a month is never read from both places
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> archiveMonth(current)))) {
+                addToManifest(month);
+            }
+            archived.add(month);
+        }
+        return archived;
+    }
+
+    // Months that have an archive file, oldest first
+    public synchronized NavigableSet<YearMonth> getArchivedMonths() {
+        if (archivedMonths == null) {
+            archivedMonths = readManifest();
+        }
+        return Collections.unmodifiableNavigableSet(new TreeSet<>(archivedMonths));
+    }
+
+    // Archived tasks with from <= sessionDate < to in (sessionDate, taskId) order. Only the
+    // archived months of the range are read, one at a time as the stream is consumed.
+    public Stream<TaskHistoryEntry> archivedEntries(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            return Stream.empty();
+        }
+        NavigableSet<YearMonth> months = getArchivedMonths()
+                .subSet(YearMonth.from(from), true, YearMonth.from(to.minusDays(1)), true);
+        return months.stream()
+                .flatMap(month -> readArchivedMonth(month).stream())
+                .filter(entry -> !entry.getSessionDate().isBefore(from) && entry.getSessionDate().isBefore(to));
+    }
+
+    // Archived tasks of a month in (sessionDate, taskId) order, empty if it was not archived
+    public List<TaskHistoryEntry> readArchivedMonth(YearMonth month) {
+        synchronized (decodedMonths) {
+            List<TaskHistoryEntry> cached = decodedMonths.get(month);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        List<TaskHistoryEntry> entries = new ArrayList<>(readArchive(month).values());
+        entries.sort(Comparator.comparing(TaskHistoryEntry::getSessionDate)
+                .thenComparing(TaskHistoryEntry::getTaskId));
+        List<TaskHistoryEntry> decoded = Collections.unmodifiableList(entries);
+        synchronized (decodedMonths) {
+            decodedMonths.put(month, decoded);
+        }
+        return decoded;
+    }
+
+    // Forget the manifest and decoded months; they are read from the files again on next use
+    public void invalidate() {
+        synchronized (this) {
+            archivedMonths = null;
+        }
+        synchronized (decodedMonths) {
+            decodedMonths.clear();
+        }
+    }
+
+    // Returns whether an archive file was written
+    private boolean archiveMonth(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+
+        List<TaskHistoryEntry> entries = taskAssignmentRepository.findPublishedHistory(from, to);
+        if (!entries.isEmpty()) {
+            writeArchive(month, entries);
+        }
+
+        sessionLockRepository.deleteBySessionDateRange(from, to);
+        partitionManager.dropMonth(month);
+        rotationSessionRepository.deleteBySessionDateRange(from, to);
+        generationRequestRepository.deleteBySessionDateBefore(to);
+        return !entries.isEmpty();
+    }
+
+    // Write the month's file, keeping entries of an earlier run (a month can be archived
+    // again if a late board was generated for it). Written to a temporary file first so
+    // readers never see a partial archive.
+    private void writeArchive(YearMonth month, List<TaskHistoryEntry> entries) {
+        Map<Long, TaskHistoryEntry> merged = readArchive(month);
+        for (TaskHistoryEntry entry : entries) {
+            merged.put(entry.getTaskId(), entry);
+        }
+
+        Path file = archiveFile(month);
+        try {
+            Files.createDirectories(archiveDir);
+            Path temp = Files.createTempFile(archiveDir, file.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                for (TaskHistoryEntry entry : merged.values()) {
+                    writer.write(objectMapper.writeValueAsString(entry));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write archive " + file + ": " + e.getMessage(), e);
+        }
+        synchronized (decodedMonths) {
+            decodedMonths.remove(month);
+        }
+    }
+
+    private synchronized void addToManifest(YearMonth month) {
+        if (archivedMonths == null) {
+            archivedMonths = readManifest();
+        }
+        if (!archivedMonths.add(month)) {
+            return;
+        }
+        Path file = archiveDir.resolve(MANIFEST_FILE);
+        try {
+            Files.createDirectories(archiveDir);
+            Path temp = Files.createTempFile(archiveDir, MANIFEST_FILE, ".tmp");
+            List<String> months = archivedMonths.stream().map(YearMonth::toString).collect(Collectors.toList());
+            objectMapper.writeValue(temp.toFile(), months);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            archivedMonths.remove(month);
+            throw new RuntimeException("Failed to write archive manifest " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Archived months listed in the manifest. Archives written before there was a manifest
+    // are found by their file names instead.
+    private NavigableSet<YearMonth> readManifest() {
+        NavigableSet<YearMonth> months = new TreeSet<>();
+        Path file = archiveDir.resolve(MANIFEST_FILE);
+        try {
+            if (Files.exists(file)) {
+                for (String month : objectMapper.readValue(file.toFile(), String[].class)) {
+                    months.add(YearMonth.parse(month));
+                }
+            } else if (Files.isDirectory(archiveDir)) {
+                try (Stream<Path> files = Files.list(archiveDir)) {
+                    files.map(path -> ARCHIVE_FILE_NAME.matcher(path.getFileName().toString()))
+                            .filter(Matcher::matches)
+                            .forEach(matcher -> months.add(YearMonth.parse(matcher.group(1))));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read archive manifest " + file + ": " + e.getMessage(), e);
+        }
+        return months;
+    }
+
+    // Entries of a month's archive by task id, empty if the month was not archived
+    private Map<Long, TaskHistoryEntry> readArchive(YearMonth month) {
+        Map<Long, TaskHistoryEntry> entries = new LinkedHashMap<>();
+        Path file = archiveFile(month);
+        if (!Files.exists(file)) {
+            return entries;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    TaskHistoryEntry entry = objectMapper.readValue(line, TaskHistoryEntry.class);
+                    entries.put(entry.getTaskId(), entry);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read archive " + file + ": " + e.getMessage(), e);
+        }
+        return entries;
+    }
+
+    private Path archiveFile(YearMonth month) {
+        return archiveDir.resolve(String.format("task-history-%04d-%02d.ndjson.gz",
+                month.getYear(), month.getMonthValue()));
+    }
+}
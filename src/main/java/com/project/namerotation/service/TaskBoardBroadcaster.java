@@ -0,0 +1,203 @@
+package com.project.namerotation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.namerotation.dto.TaskBoardEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fans task board changes out to Server-Sent Events subscribers. Connections are
+// async servlet requests, so an idle subscriber holds no thread. Events are sent
+// after the changing transaction commits and serialized once. Each subscriber has
+// its own bounded queue, drained by a small pool of sender threads, so writers never
+// wait on clients and one slow client cannot hold up the others or the heartbeat.
+// A client whose queue overflows, or whose write takes longer than SEND_TIMEOUT,
+// is dropped; EventSource reconnects and reloads the board. A periodic comment line
+// detects closed connections.
+@Component
+public class TaskBoardBroadcaster {
+
+    // Clients (EventSource) reconnect by themselves when a stream times out
+    private static final long STREAM_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    private static final long HEARTBEAT_SECONDS = 25;
+
+    // Events waiting for one client before it counts as too slow
+    private static final int QUEUE_CAPACITY = 64;
+
+    // Longest a single write to a client may take
+    private static final long SEND_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final int SENDER_THREADS = 4;
+
+    private final ObjectMapper objectMapper;
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-board-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders;
+
+    @Autowired
+    public TaskBoardBroadcaster(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        AtomicInteger count = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(SENDER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "task-board-events-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::sendHeartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // One open stream with the events not yet written to it
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue =
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // System.nanoTime() when the current write started, 0 while not writing
+        private volatile long sendStartedAt;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (!queue.offer(event)) {
+                drop(this, new IOException("Client is not keeping up with task board events"));
+                return;
+            }
+            scheduleDrain();
+        }
+
+        boolean isStalled(long now) {
+            long startedAt = sendStartedAt;
+            return startedAt != 0 && now - startedAt > SEND_TIMEOUT_NANOS;
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while ((event = queue.poll()) != null) {
+                    sendStartedAt = System.nanoTime();
+                    emitter.send(event);
+                    sendStartedAt = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away
+                sendStartedAt = 0;
+                drop(this, e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    // Open a new event stream
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        subscribers.put(emitter, new Subscriber(emitter));
+        return emitter;
+    }
+
+    // Send an event to all subscribers once the current transaction commits
+    public void publish(TaskBoardEvent event) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Cannot serialize task board event: " + e.getMessage());
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> items = SseEmitter.event().name(event.getType()).data(data).build();
+        afterCommit(() -> sendToAll(items));
+    }
+
+    // Number of open streams
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.keySet().forEach(SseEmitter::complete);
+        subscribers.clear();
+    }
+
+    private void sendHeartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.isStalled(now)) {
+                drop(subscriber, new IOException("Client stopped reading task board events"));
+            }
+        }
+        sendToAll(SseEmitter.event().comment("heartbeat").build());
+    }
+
+    // Queue an event for every subscriber; the writes happen on the sender threads
+    private void sendToAll(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.enqueue(event);
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception reason) {
+        if (subscribers.remove(subscriber.emitter) != null) {
+            subscriber.queue.clear();
+            subscriber.emitter.completeWithError(reason);
+        }
+    }
+
+    // Run right away without a transaction
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.dto.TaskBoardDto;
+import com.project.namerotation.dto.TaskDto;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// In-process read-through cache of published task boards by session key (date and pool).
+// Each cached board gets a new version number, used as its ETag, so clients that already
+// have it get 304 Not Modified. Entries are dropped after the transaction that changed the
+// board commits; a board is loaded at most once at a time per session. Only boards of the
+// current day are kept, at most MAX_BOARDS of them, and callers get their own copy of a board.
+@Component
+public class TaskBoardCache {
+
+    // Most boards kept at once; beyond that boards are loaded without being cached
+    private static final int MAX_BOARDS = 1024;
+
+    // Versions restart with the application, so ETags also carry its start time
+    private final String instancePrefix = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong nextVersion = new AtomicLong();
+    private final Map<String, CachedBoard> boards = new ConcurrentHashMap<>();
+    private volatile LocalDate currentDay = LocalDate.now();
+
+    // A board with the version it was cached under
+    public static final class CachedBoard {
+        private final TaskBoardDto board;
+        private final String etag;
+        private final LocalDate sessionDate;
+
+        CachedBoard(TaskBoardDto board, String etag, LocalDate sessionDate) {
+            this.board = board;
+            this.etag = etag;
+            this.sessionDate = sessionDate;
+        }
+
+        // Copy of the board, so callers cannot change the cached one
+        public TaskBoardDto getBoard() {
+            return new TaskBoardDto(copy(board.getNormalTasks()), copy(board.getSpecialTasks()));
+        }
+
+        // Strong ETag, quoted as sent in the header
+        public String getEtag() {
+            return etag;
+        }
+    }
+
+    // Cached board of a session, loaded with the given loader on a miss
+    public CachedBoard get(String sessionKey, LocalDate sessionDate, Supplier<TaskBoardDto> loader) {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(currentDay)) {
+            // A new day: the boards of earlier days are no longer asked for
+            currentDay = today;
+            boards.values().removeIf(board -> board.sessionDate.isBefore(today));
+        }
+        if (!today.equals(sessionDate) || (boards.size() >= MAX_BOARDS && !boards.containsKey(sessionKey))) {
+            return newBoard(loader.get(), sessionDate);
+        }
+        return boards.computeIfAbsent(sessionKey, key -> newBoard(loader.get(), sessionDate));
+    }
+
+    // Drop the board of a session once the current transaction commits
+    public void invalidate(String sessionKey) {
+        afterCommit(() -> boards.remove(sessionKey));
+    }
+
+    // Drop all boards once the current transaction commits
+    public void invalidateAll() {
+        afterCommit(boards::clear);
+    }
+
+    private CachedBoard newBoard(TaskBoardDto board, LocalDate sessionDate) {
+        return new CachedBoard(board, "\"" + instancePrefix + "-" + nextVersion.incrementAndGet() + "\"", sessionDate);
+    }
+
+    private static List<TaskDto> copy(List<TaskDto> tasks) {
+        List<TaskDto> copies = new ArrayList<>(tasks.size());
+        for (TaskDto task : tasks) {
+            copies.add(new TaskDto(task.getId(), task.getNameId(), task.getName(), task.getTaskName(),
+                    task.getIsSpecialTask()));
+        }
+        return copies;
+    }
+
+    // Run right away without a transaction. Dropping after commit (not before) ensures that
+    // a board loaded in between cannot stay cached with the old content.
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,151 @@
+package com.project.namerotation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.namerotation.dto.TaskHistoryEntry;
+import com.project.namerotation.repository.TaskAssignmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Writes published tasks of a date range (all pools) as CSV or NDJSON straight to an
+// output stream, in (sessionDate, taskId) order. Archived months are read one file at a
+// time and database rows through a forward-only cursor, merged as they are read, so memory
+// does not grow with the range, and the output is flushed regularly so the client gets
+// rows right away.
+@Service
+public class TaskExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final String CSV_HEADER =
+            "session_date,pool_id,task_id,name_id,name,task_name,is_special_task,session_seed";
+
+    // Rows written between flushes to the client
+    private static final int FLUSH_EVERY = 500;
+
+    private final TaskAssignmentRepository taskAssignmentRepository;
+    private final TaskArchiveService taskArchiveService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public TaskExportService(TaskAssignmentRepository taskAssignmentRepository,
+                             TaskArchiveService taskArchiveService,
+                             ObjectMapper objectMapper) {
+        this.taskAssignmentRepository = taskAssignmentRepository;
+        this.taskArchiveService = taskArchiveService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Parse the format parameter (csv or ndjson, any case)
+    public static Format parseFormat(String format) {
+        for (Format candidate : Format.values()) {
+            if (candidate.getExtension().equalsIgnoreCase(format)) {
+                return candidate;
+            }
+        }
+        throw new RuntimeException("Format must be csv or ndjson");
+    }
+
+    // Check the range before the response starts, as errors can no longer change its status later
+    public static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new RuntimeException("A date range with from <= to is required");
+        }
+    }
+
+    // Write the published tasks between two dates (both inclusive); returns the number of rows
+    @Transactional(readOnly = true)
+    public long export(LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+        validateRange(from, to);
+        LocalDate end = to.plusDays(1);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        writer.flush();
+
+        long rows = 0;
+
+        // Archived and database rows merged in order, as in TaskHistoryService
+        try (Stream<TaskHistoryEntry> archived = taskArchiveService.archivedEntries(from, end);
+             Stream<TaskHistoryEntry> stored = taskAssignmentRepository.streamPublishedHistory(from, end)) {
+            Iterator<TaskHistoryEntry> merged = new TaskHistoryMerge(archived.iterator(), stored.iterator());
+            while (merged.hasNext()) {
+                rows = write(writer, format, merged.next(), rows);
+            }
+        }
+
+        writer.flush();
+        return rows;
+    }
+
+    private long write(Writer writer, Format format, TaskHistoryEntry entry, long rows) throws IOException {
+        if (format == Format.CSV) {
+            writer.write(String.valueOf(entry.getSessionDate()));
+            writer.write(',');
+            writer.write(entry.getPoolId() != null ? entry.getPoolId().toString() : "");
+            writer.write(',');
+            writer.write(String.valueOf(entry.getTaskId()));
+            writer.write(',');
+            writer.write(String.valueOf(entry.getNameId()));
+            writer.write(',');
+            writer.write(csvField(entry.getName()));
+            writer.write(',');
+            writer.write(csvField(entry.getTaskName()));
+            writer.write(',');
+            writer.write(String.valueOf(Boolean.TRUE.equals(entry.getIsSpecialTask())));
+            writer.write(',');
+            writer.write(entry.getSessionSeed() != null ? entry.getSessionSeed().toString() : "");
+        } else {
+            writer.write(objectMapper.writeValueAsString(entry));
+        }
+        writer.write('\n');
+
+        rows++;
+        if (rows % FLUSH_EVERY == 0) {
+            writer.flush();
+        }
+        return rows;
+    }
+
+    // Quote a text field when it contains a separator, quote or line break (RFC 4180)
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,54 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.dto.TaskHistoryEntry;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Archived and database tasks, each in (sessionDate, taskId) order, as one sequence in
+// that order. Neither side has to lie before the other: a late board can be generated
+// for a month that is already archived. A task on both sides (a month archived again
+// while its rows are still in the database) is returned once.
+final class TaskHistoryMerge implements Iterator<TaskHistoryEntry> {
+
+    private static final Comparator<TaskHistoryEntry> ORDER = Comparator
+            .comparing(TaskHistoryEntry::getSessionDate)
+            .thenComparing(TaskHistoryEntry::getTaskId);
+
+    private final Iterator<TaskHistoryEntry> archived;
+    private final Iterator<TaskHistoryEntry> stored;
+    private TaskHistoryEntry nextArchived;
+    private TaskHistoryEntry nextStored;
+
+    TaskHistoryMerge(Iterator<TaskHistoryEntry> archived, Iterator<TaskHistoryEntry> stored) {
+        this.archived = archived;
+        this.stored = stored;
+        this.nextArchived = archived.hasNext() ? archived.next() : null;
+        this.nextStored = stored.hasNext() ? stored.next() : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextArchived != null || nextStored != null;
+    }
+
+    @Override
+    public TaskHistoryEntry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int order = nextArchived == null ? 1 : nextStored == null ? -1 : ORDER.compare(nextArchived, nextStored);
+        TaskHistoryEntry entry;
+        if (order <= 0) {
+            entry = nextArchived;
+            nextArchived = archived.hasNext() ? archived.next() : null;
+        } else {
+            entry = nextStored;
+        }
+        if (order >= 0) {
+            nextStored = stored.hasNext() ? stored.next() : null;
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,106 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.dto.TaskHistoryEntry;
+import com.project.namerotation.dto.TaskHistoryPage;
+import com.project.namerotation.repository.TaskAssignmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+// Published boards of past days in keyset pages ordered by (sessionDate, taskId). A page
+// continues after the last entry of the previous one instead of skipping an offset, so
+// deep pages cost the same as the first. Months moved out by TaskArchiveService are read
+// from their archive files and merged in order with the database rows, which may still
+// hold late boards of archived months.
+@Service
+public class TaskHistoryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    // One keyset query of the database: tasks after (afterDate, afterId) within [from, to)
+    private interface PageQuery {
+        List<TaskHistoryEntry> find(LocalDate from, LocalDate to, LocalDate afterDate, Long afterId, Limit limit);
+    }
+
+    private final TaskAssignmentRepository taskAssignmentRepository;
+    private final TaskArchiveService taskArchiveService;
+
+    @Autowired
+    public TaskHistoryService(TaskAssignmentRepository taskAssignmentRepository,
+                              TaskArchiveService taskArchiveService) {
+        this.taskAssignmentRepository = taskAssignmentRepository;
+        this.taskArchiveService = taskArchiveService;
+    }
+
+    // Published tasks of a pool (null = default pool) between two dates, both inclusive
+    @Transactional(readOnly = true)
+    public TaskHistoryPage getTaskHistory(LocalDate from, LocalDate to, Long poolId,
+                                          LocalDate afterDate, Long afterId, Integer size) {
+        PageQuery query = poolId == null
+                ? taskAssignmentRepository::findHistoryPage
+                : (f, t, d, id, limit) -> taskAssignmentRepository.findHistoryPageByPoolId(poolId, f, t, d, id, limit);
+        return getPage(from, to, afterDate, afterId, size,
+                entry -> Objects.equals(poolId, entry.getPoolId()), query);
+    }
+
+    // Published tasks of one name in any pool between two dates, both inclusive
+    @Transactional(readOnly = true)
+    public TaskHistoryPage getNameHistory(Long nameId, LocalDate from, LocalDate to,
+                                          LocalDate afterDate, Long afterId, Integer size) {
+        return getPage(from, to, afterDate, afterId, size,
+                entry -> nameId.equals(entry.getNameId()),
+                (f, t, d, id, limit) -> taskAssignmentRepository.findHistoryPageByNameId(nameId, f, t, d, id, limit));
+    }
+
+    private TaskHistoryPage getPage(LocalDate from, LocalDate to, LocalDate afterDate, Long afterId, Integer size,
+                                    Predicate<TaskHistoryEntry> archiveFilter, PageQuery query) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new RuntimeException("A date range with from <= to is required");
+        }
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // Without a cursor, start before the first task of the range; a date without
+        // an id continues after that whole day
+        LocalDate end = to.plusDays(1);
+        LocalDate cursorDate = afterDate != null ? afterDate : from.minusDays(1);
+        long cursorId = afterDate != null && afterId != null ? afterId : Long.MAX_VALUE;
+
+        // One entry more than the page size tells whether there is a next page
+        Iterator<TaskHistoryEntry> archived = taskArchiveService
+                .archivedEntries(cursorDate.isBefore(from) ? from : cursorDate, end)
+                .filter(archiveFilter)
+                .filter(entry -> isAfter(entry, cursorDate, cursorId))
+                .iterator();
+        Iterator<TaskHistoryEntry> stored = query.find(from, end, cursorDate, cursorId, Limit.of(pageSize + 1)).iterator();
+
+        List<TaskHistoryEntry> entries = new ArrayList<>(pageSize + 1);
+        for (Iterator<TaskHistoryEntry> merged = new TaskHistoryMerge(archived, stored);
+             merged.hasNext() && entries.size() <= pageSize; ) {
+            entries.add(merged.next());
+        }
+
+        if (entries.size() <= pageSize) {
+            return new TaskHistoryPage(entries, null, null);
+        }
+        List<TaskHistoryEntry> page = new ArrayList<>(entries.subList(0, pageSize));
+        TaskHistoryEntry last = page.get(pageSize - 1);
+        return new TaskHistoryPage(page, last.getSessionDate(), last.getTaskId());
+    }
+
+    private static boolean isAfter(TaskHistoryEntry entry, LocalDate cursorDate, long cursorId) {
+        int byDate = entry.getSessionDate().compareTo(cursorDate);
+        return byDate > 0 || (byDate == 0 && entry.getTaskId() > cursorId);
+    }
+}
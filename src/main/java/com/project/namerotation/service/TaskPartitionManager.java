@@ -0,0 +1,143 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.repository.TaskAssignmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+// Keeps task_assignments range-partitioned by month of session_date on PostgreSQL, so
+// today's queries (which filter on session_date) only touch the current month and old
+// months can be dropped as a whole when archived. Hibernate creates a plain table; on
+// startup it is converted to a partitioned one, and partitions are created ahead of time
+// (future schedules can reach a year ahead), with a default partition as a safety net.
+// Other databases (H2 in tests) keep the plain table with its session_date indexes as a
+// stand-in, and dropping a month falls back to a range delete.
+@Component
+public class TaskPartitionManager {
+
+    private static final String TABLE = "task_assignments";
+
+    // Partitions created ahead of the current month (schedules reach up to 366 days ahead)
+    private static final int MONTHS_AHEAD = 13;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskAssignmentRepository taskAssignmentRepository;
+
+    private volatile boolean partitioned;
+
+    @Autowired
+    public TaskPartitionManager(JdbcTemplate jdbcTemplate, TaskAssignmentRepository taskAssignmentRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskAssignmentRepository = taskAssignmentRepository;
+    }
+
+    // Convert the table on PostgreSQL once the schema exists
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT relkind::text FROM pg_class WHERE relname = ? AND pg_table_is_visible(oid)", String.class, TABLE);
+        if (kinds.isEmpty()) {
+            return;
+        }
+        if (!"p".equals(kinds.get(0))) {
+            convertToPartitionedTable();
+        }
+        partitioned = true;
+        createPartitionsAhead(YearMonth.now());
+    }
+
+    // Nightly: make sure the coming months have their partitions
+    @Scheduled(cron = "0 0 1 * * ?")
+    @Transactional
+    public void createPartitionsAhead() {
+        if (partitioned) {
+            createPartitionsAhead(YearMonth.now());
+        }
+    }
+
+    // Remove all tasks of a month: drop its partition, then delete any rows that
+    // landed in the default partition (or everything, without partitioning)
+    public void dropMonth(YearMonth month) {
+        if (partitioned) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+        }
+        taskAssignmentRepository.deleteBySessionDateRange(month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    // Rebuild the plain table as a partitioned one with the same columns and keep its rows.
+    // The partition key has to be part of the primary key and unique constraints.
+    private void convertToPartitionedTable() {
+        String old = TABLE + "_unpartitioned";
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + old);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + old + " INCLUDING DEFAULTS) " +
+                "PARTITION BY RANGE (session_date)");
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + "_default PARTITION OF " + TABLE + " DEFAULT");
+
+        // Partitions for the existing rows must exist before they are copied, as rows left
+        // in the default partition would block creating their month's partition later
+        YearMonth current = YearMonth.now();
+        Date oldest = jdbcTemplate.queryForObject("SELECT MIN(session_date) FROM " + old, Date.class);
+        if (oldest != null) {
+            for (YearMonth month = YearMonth.from(oldest.toLocalDate()); month.isBefore(current); month = month.plusMonths(1)) {
+                createPartition(month);
+            }
+        }
+        createPartitionsAhead(current);
+
+        jdbcTemplate.execute("INSERT INTO " + TABLE + " SELECT * FROM " + old);
+        jdbcTemplate.execute("DROP TABLE " + old);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT task_assignments_pkey PRIMARY KEY (id, session_date)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT uk_task_assignments_session_name " +
+                "UNIQUE (rotation_session_id, name_id, is_special_task, session_date)");
+        // History pages seek on the pool and name indexes in (session_date, id) order; archiving
+        // and exports scan whole date ranges of all pools
+        jdbcTemplate.execute("CREATE INDEX idx_task_assignments_session_date ON " + TABLE + " (session_date, id)");
+        jdbcTemplate.execute("CREATE INDEX idx_task_assignments_pool_date ON " + TABLE + " (pool_id, session_date, id)");
+        jdbcTemplate.execute("CREATE INDEX idx_task_assignments_name_date ON " + TABLE + " (name_id, session_date, id)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT fk_task_assignments_name " +
+                "FOREIGN KEY (name_id) REFERENCES names (id)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT fk_task_assignments_pool " +
+                "FOREIGN KEY (pool_id) REFERENCES rotation_pools (id)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT fk_task_assignments_session " +
+                "FOREIGN KEY (rotation_session_id) REFERENCES rotation_sessions (id)");
+    }
+
+    private void createPartitionsAhead(YearMonth from) {
+        for (int i = 0; i <= MONTHS_AHEAD; i++) {
+            createPartition(from.plusMonths(i));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF " + TABLE +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    private static String partitionName(YearMonth month) {
+        return String.format("%s_p%04d_%02d", TABLE, month.getYear(), month.getMonthValue());
+    }
+}
@@ -1,134 +1,535 @@
 package com.project.namerotation.service;
 
+import com.project.namerotation.dto.TaskBoardDto;
+import com.project.namerotation.dto.TaskBoardEvent;
+import com.project.namerotation.dto.TaskDto;
+import com.project.namerotation.dto.TaskUpdateRequest;
+import com.project.namerotation.repository.GenerationRequestRepository;
+import com.project.namerotation.repository.RotationPoolRepository;
+import com.project.namerotation.repository.RotationSessionRepository;
+import com.project.namerotation.repository.SessionLockRepository;
 import com.project.namerotation.repository.TaskAssignmentRepository;
+import com.project.namerotationsystem.model.GenerationRequest;
 import com.project.namerotationsystem.model.Name;
+import com.project.namerotationsystem.model.RotationPool;
+import com.project.namerotationsystem.model.RotationSession;
 import com.project.namerotationsystem.model.TaskAssignment;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
 
+    // Longest schedule that can be precomputed in one request
+    private static final int MAX_SCHEDULE_DAYS = 366;
+
+    // Number of special tasks on each board
+    private static final int SPECIAL_TASK_COUNT = 4;
+
+    // Thrown when an idempotency key comes back with another session or number of names
+    public static class IdempotencyKeyReusedException extends RuntimeException {
+        public IdempotencyKeyReusedException(String idempotencyKey) {
+            super("Idempotency key " + idempotencyKey + " was already used for a different request");
+        }
+    }
+
     private final TaskAssignmentRepository taskAssignmentRepository;
+    private final RotationPoolRepository rotationPoolRepository;
+    private final RotationSessionRepository rotationSessionRepository;
+    private final SessionLockRepository sessionLockRepository;
+    private final GenerationRequestRepository generationRequestRepository;
     private final NameService nameService;
+    private final RotationEngine rotationEngine;
+    private final TaskBoardCache taskBoardCache;
+    private final TaskBoardBroadcaster taskBoardBroadcaster;
+    private final NameRegistry nameRegistry;
 
     @Autowired
-    public TaskService(TaskAssignmentRepository taskAssignmentRepository, NameService nameService) {
+    public TaskService(TaskAssignmentRepository taskAssignmentRepository,
+                       RotationPoolRepository rotationPoolRepository,
+                       RotationSessionRepository rotationSessionRepository,
+                       SessionLockRepository sessionLockRepository,
+                       GenerationRequestRepository generationRequestRepository,
+                       NameService nameService, RotationEngine rotationEngine,
+                       TaskBoardCache taskBoardCache, TaskBoardBroadcaster taskBoardBroadcaster,
+                       NameRegistry nameRegistry) {
         this.taskAssignmentRepository = taskAssignmentRepository;
+        this.rotationPoolRepository = rotationPoolRepository;
+        this.rotationSessionRepository = rotationSessionRepository;
+        this.sessionLockRepository = sessionLockRepository;
+        this.generationRequestRepository = generationRequestRepository;
         this.nameService = nameService;
+        this.rotationEngine = rotationEngine;
+        this.taskBoardCache = taskBoardCache;
+        this.taskBoardBroadcaster = taskBoardBroadcaster;
+        this.nameRegistry = nameRegistry;
     }
 
     // Generate task assignments for a given number of names with enhanced rotational algorithm
     @Transactional
     public void generateTasks(int numberOfNames) {
-        if (numberOfNames < 4) {
+        generateTasks(null, numberOfNames);
+    }
+
+    // Generate today's task assignments for one rotation pool (null = default pool)
+    @Transactional
+    public void generateTasks(Long poolId, int numberOfNames) {
+        generateTasks(poolId, numberOfNames, null);
+    }
+
+    // Generate today's task assignments, serialized per session. The board is built as a new
+    // version next to the published one and published at the end, so readers see either the
+    // old or the new board in full. If an idempotency key is given and a generation already
+    // ran for it, nothing is regenerated and false is returned; if that generation was for
+    // another date, pool or number of names, IdempotencyKeyReusedException is thrown.
+    @Transactional
+    public boolean generateTasks(Long poolId, int numberOfNames, String idempotencyKey) {
+        validateNumberOfNames(poolId, numberOfNames);
+
+        // Concurrent generations of the same session wait here until this transaction ends
+        LocalDate today = LocalDate.now();
+        lockSession(today, poolId);
+
+        if (idempotencyKey != null) {
+            Optional<GenerationRequest> previous = generationRequestRepository.findByIdempotencyKey(idempotencyKey);
+            if (previous.isPresent()) {
+                GenerationRequest request = previous.get();
+                if (!today.equals(request.getSessionDate()) || !Objects.equals(poolId, request.getPoolId())
+                        || request.getNumberOfNames() != numberOfNames) {
+                    throw new IdempotencyKeyReusedException(idempotencyKey);
+                }
+                return false;
+            }
+            generationRequestRepository.save(new GenerationRequest(idempotencyKey, today, poolId, numberOfNames));
+        }
+
+        RotationSession rotationSession = startSession(today, poolId);
+
+        // Rotational selection: oldest last displayed date first
+        List<Long> selectedIds = rotationEngine.selectNext(poolId, numberOfNames);
+
+        // Special tasks: fewest special tasks so far first, ties drawn with a stored seed
+        long seed = ThreadLocalRandom.current().nextLong();
+        int[] specialTaskCounts = rotationEngine.getSpecialTaskCounts(poolId, selectedIds);
+        List<Long> specialIds = SpecialTaskSampler.sample(selectedIds, SPECIAL_TASK_COUNT, seed, specialTaskCounts);
+
+        // One batched insert for the whole board and one UPDATE each for displayed and special names
+        taskAssignmentRepository.saveAll(buildBoard(rotationSession, selectedIds, specialIds, seed, specialTaskCounts));
+        publishSession(rotationSession, selectedIds, specialIds);
+        return true;
+    }
+
+    // Precompute task boards for several consecutive days in one pass.
+    // The rotation is simulated on a copy of the in-memory queue, so each day sees
+    // the names displayed on the previous days, and all boards are saved in one transaction.
+    // Running it again for the same days replaces the planned boards and takes their displays
+    // back, so names are only counted for the boards that stay published.
+    @Transactional
+    public List<LocalDate> generateSchedule(LocalDate from, int days, int numberOfNames) {
+        if (days < 1 || days > MAX_SCHEDULE_DAYS) {
+            throw new RuntimeException("Number of days must be between 1 and " + MAX_SCHEDULE_DAYS);
+        }
+        validateNumberOfNames(null, numberOfNames);
+
+        // Boards planned before for these days stop counting first, so the new plan starts
+        // from the names' state without them
+        LocalDate to = from.plusDays(days - 1);
+        List<RotationSession> rotationSessions = new ArrayList<>(days);
+        boolean replanned = false;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            String sessionKey = lockSession(date, null);
+            rotationSessions.add(startSession(date, null));
+            Optional<RotationSession> planned = rotationSessionRepository
+                    .findFirstBySessionKeyAndStatus(sessionKey, RotationSession.PUBLISHED);
+            if (planned.isPresent()) {
+                withdrawSession(planned.get());
+                replanned = true;
+            }
+        }
+
+        RotationQueue simulation = replanned ? rotationEngine.loadSnapshot(null) : rotationEngine.snapshot(null);
+        List<TaskAssignment> tasks = new ArrayList<>(days * (numberOfNames + SPECIAL_TASK_COUNT));
+        Map<LocalDate, List<Long>> selectedIdsByDate = new LinkedHashMap<>();
+        Map<LocalDate, List<Long>> specialIdsByDate = new LinkedHashMap<>();
+
+        for (RotationSession rotationSession : rotationSessions) {
+            LocalDate date = rotationSession.getSessionDate();
+            RotationDraw draw = RotationDraw.next(simulation, numberOfNames, SPECIAL_TASK_COUNT, date,
+                    ThreadLocalRandom.current().nextLong());
+
+            tasks.addAll(buildBoard(rotationSession, draw.getSelectedIds(), draw.getSpecialIds(), draw.getSeed(),
+                    draw.getSpecialTaskCounts()));
+            selectedIdsByDate.put(date, draw.getSelectedIds());
+            specialIdsByDate.put(date, draw.getSpecialIds());
+        }
+
+        taskAssignmentRepository.saveAll(tasks);
+        for (RotationSession rotationSession : rotationSessions) {
+            LocalDate date = rotationSession.getSessionDate();
+            publishSession(rotationSession, selectedIdsByDate.get(date), specialIdsByDate.get(date));
+        }
+
+        return new ArrayList<>(selectedIdsByDate.keySet());
+    }
+
+    // Change today's published board (null pool = default pool). Names to add take over the
+    // rows of dropped names first, the remaining dropped rows go to the next names in fairness
+    // order, and extra added names get new rows. Typed task names and special tasks stay on
+    // their rows. The changed board is saved as a new version and published like a generated
+    // one, so readers never see it half changed and dropped names get their display taken
+    // back. Returns the number of rows that differ from the previous board.
+    @Transactional
+    public int regenerateTasks(Long poolId, Collection<Long> dropNameIds, Collection<Long> addNameIds) {
+        LocalDate today = LocalDate.now();
+        String sessionKey = lockSession(today, poolId);
+        RotationSession current = rotationSessionRepository
+                .findFirstBySessionKeyAndStatus(sessionKey, RotationSession.PUBLISHED)
+                .orElseThrow(() -> new RuntimeException("No board for today, generate one first"));
+        List<TaskAssignment> currentTasks = taskAssignmentRepository.findBySessionId(current.getId());
+
+        Set<Long> boardIds = new HashSet<>();
+        for (TaskAssignment task : currentTasks) {
+            if (!Boolean.TRUE.equals(task.getIsSpecialTask())) {
+                boardIds.add(task.getName().getId());
+            }
+        }
+        Set<Long> dropIds = new HashSet<>(dropNameIds);
+        for (Long id : dropIds) {
+            if (!boardIds.contains(id)) {
+                throw new RuntimeException("Name is not on today's board: " + id);
+            }
+        }
+        Set<Long> addIds = new LinkedHashSet<>(addNameIds);
+        for (Long id : addIds) {
+            validateNameToAdd(id, poolId, boardIds);
+        }
+
+        // The new version starts as a copy of the published board
+        RotationSession rotationSession = startSession(today, poolId);
+        List<TaskAssignment> normalTasks = new ArrayList<>();
+        Map<Long, TaskAssignment> specialTasksByNameId = new LinkedHashMap<>();
+        for (TaskAssignment task : currentTasks) {
+            TaskAssignment copy = copyTask(task, rotationSession);
+            if (Boolean.TRUE.equals(copy.getIsSpecialTask())) {
+                specialTasksByNameId.put(copy.getName().getId(), copy);
+            } else {
+                normalTasks.add(copy);
+            }
+        }
+
+        List<TaskAssignment> droppedTasks = new ArrayList<>();
+        for (TaskAssignment task : normalTasks) {
+            if (dropIds.contains(task.getName().getId())) {
+                droppedTasks.add(task);
+            }
+        }
+
+        // Names joining the board: the added ones, then replacements in fairness order
+        Deque<Long> incoming = new ArrayDeque<>(addIds);
+        int replacementsNeeded = droppedTasks.size() - addIds.size();
+        if (replacementsNeeded > 0) {
+            Set<Long> excluded = new HashSet<>(boardIds);
+            excluded.addAll(addIds);
+            incoming.addAll(rotationEngine.selectNext(poolId, replacementsNeeded, excluded));
+        }
+
+        List<TaskAssignment> orphanedSpecialTasks = new ArrayList<>();
+        Set<TaskAssignment> removedTasks = new HashSet<>();
+        int changed = 0;
+
+        for (TaskAssignment task : droppedTasks) {
+            TaskAssignment specialTask = specialTasksByNameId.remove(task.getName().getId());
+            Long newId = incoming.poll();
+            if (newId == null) {
+                // Nobody left to take the row
+                removedTasks.add(task);
+                if (specialTask != null) {
+                    orphanedSpecialTasks.add(specialTask);
+                }
+                continue;
+            }
+            Name newName = nameService.getNameReferences(List.of(newId)).get(0);
+            task.setName(newName);
+            task.setSpecialCountAtDraw(null);
+            changed++;
+            if (specialTask != null) {
+                specialTask.setName(newName);
+                specialTasksByNameId.put(newId, specialTask);
+                changed++;
+            }
+        }
+
+        List<TaskAssignment> insertedTasks = new ArrayList<>();
+        for (Name name : nameService.getNameReferences(new ArrayList<>(incoming))) {
+            TaskAssignment task = new TaskAssignment(name, "", false, today);
+            task.setPool(rotationSession.getPool());
+            task.setSession(rotationSession);
+            task.setSessionSeed(normalTasks.isEmpty() ? null : normalTasks.get(0).getSessionSeed());
+            insertedTasks.add(task);
+        }
+
+        // Special tasks whose row was removed go to other names on the board
+        if (!orphanedSpecialTasks.isEmpty()) {
+            List<Long> candidates = new ArrayList<>();
+            for (TaskAssignment task : normalTasks) {
+                Long id = task.getName().getId();
+                if (!removedTasks.contains(task) && !specialTasksByNameId.containsKey(id)) {
+                    candidates.add(id);
+                }
+            }
+            Long seed = orphanedSpecialTasks.get(0).getSessionSeed();
+            List<Long> specialIds = rotationEngine.selectSpecial(poolId, candidates, orphanedSpecialTasks.size(),
+                    seed != null ? seed : ThreadLocalRandom.current().nextLong());
+            for (int i = 0; i < orphanedSpecialTasks.size(); i++) {
+                TaskAssignment specialTask = orphanedSpecialTasks.get(i);
+                if (i < specialIds.size()) {
+                    specialTask.setName(nameService.getNameReferences(List.of(specialIds.get(i))).get(0));
+                    specialTasksByNameId.put(specialIds.get(i), specialTask);
+                    changed++;
+                } else {
+                    removedTasks.add(specialTask);
+                }
+            }
+        }
+
+        List<TaskAssignment> tasks = new ArrayList<>(normalTasks.size() + insertedTasks.size() + specialTasksByNameId.size());
+        List<Long> selectedIds = new ArrayList<>();
+        for (TaskAssignment task : normalTasks) {
+            if (!removedTasks.contains(task)) {
+                tasks.add(task);
+                selectedIds.add(task.getName().getId());
+            }
+        }
+        for (TaskAssignment task : insertedTasks) {
+            tasks.add(task);
+            selectedIds.add(task.getName().getId());
+        }
+        tasks.addAll(specialTasksByNameId.values());
+
+        taskAssignmentRepository.saveAll(tasks);
+        publishSession(rotationSession, selectedIds, new ArrayList<>(specialTasksByNameId.keySet()));
+        return changed + removedTasks.size() + insertedTasks.size();
+    }
+
+    // Publish the previous board of today's session again (null pool = default pool).
+    // The withdrawn board's names get their display and special tasks taken back and the
+    // restored board's names are marked displayed and special again.
+    @Transactional
+    public void rollbackSession(Long poolId) {
+        String sessionKey = lockSession(LocalDate.now(), poolId);
+
+        RotationSession current = rotationSessionRepository
+                .findFirstBySessionKeyAndStatus(sessionKey, RotationSession.PUBLISHED)
+                .orElseThrow(() -> new RuntimeException("No published board for today"));
+        RotationSession previous = rotationSessionRepository
+                .findFirstBySessionKeyAndStatus(sessionKey, RotationSession.SUPERSEDED)
+                .orElseThrow(() -> new RuntimeException("No previous board to roll back to"));
+
+        withdrawSession(current);
+        nameService.markDisplayed(poolId, taskAssignmentRepository.findNameIdsBySessionId(
+                previous.getId(), previous.getSessionDate(), false), previous.getSessionDate());
+        nameService.markSpecial(poolId, taskAssignmentRepository.findNameIdsBySessionId(
+                previous.getId(), previous.getSessionDate(), true));
+        previous.setStatus(RotationSession.PUBLISHED);
+        previous.setPublishedAt(LocalDateTime.now());
+        sessionLockRepository.publish(sessionKey, previous);
+    }
+
+    // Key of a session (date and pool), shared by its lock row and board versions
+    static String sessionKey(LocalDate sessionDate, Long poolId) {
+        return sessionDate + ":" + (poolId != null ? poolId : "default");
+    }
+
+    // Row lock on the session (date and pool), held until the transaction ends.
+    // Every change to a session's boards takes it.
+    private String lockSession(LocalDate sessionDate, Long poolId) {
+        String lockKey = sessionKey(sessionDate, poolId);
+        sessionLockRepository.insertIfAbsent(lockKey);
+        sessionLockRepository.lock(lockKey);
+        return lockKey;
+    }
+
+    // The published board of a session changed: drop its cached board and tell stream
+    // subscribers to reload it. Streams show today's board only, so boards planned for
+    // other days are not announced.
+    private void boardChanged(String sessionKey, LocalDate sessionDate, Long poolId) {
+        taskBoardCache.invalidate(sessionKey);
+        if (sessionDate.equals(LocalDate.now())) {
+            taskBoardBroadcaster.publish(new TaskBoardEvent(TaskBoardEvent.BOARD_REGENERATED, sessionDate, poolId, null));
+        }
+    }
+
+    // Create the next board version of a locked session. Only the published version is
+    // kept besides it, so that it stays available for rollback once the new one is published.
+    private RotationSession startSession(LocalDate sessionDate, Long poolId) {
+        String sessionKey = sessionKey(sessionDate, poolId);
+        taskAssignmentRepository.deleteBySessionKeyAndSessionStatusNot(sessionKey, RotationSession.PUBLISHED);
+        rotationSessionRepository.deleteBySessionKeyAndStatusNot(sessionKey, RotationSession.PUBLISHED);
+
+        RotationPool pool = poolId != null ? rotationPoolRepository.getReferenceById(poolId) : null;
+        int version = rotationSessionRepository.findLatestVersion(sessionKey) + 1;
+        return rotationSessionRepository.save(new RotationSession(sessionKey, sessionDate, pool, version));
+    }
+
+    // Make a built board version the published one with a single pointer update. The board it
+    // replaces stops counting, then the new board's names are marked displayed and special.
+    private void publishSession(RotationSession rotationSession, List<Long> selectedIds, List<Long> specialIds) {
+        String sessionKey = rotationSession.getSessionKey();
+        Long poolId = rotationSession.getPool() != null ? rotationSession.getPool().getId() : null;
+        // Withdrawing the previous board announces the change already
+        rotationSessionRepository.findFirstBySessionKeyAndStatus(sessionKey, RotationSession.PUBLISHED)
+                .ifPresentOrElse(this::withdrawSession,
+                        () -> boardChanged(sessionKey, rotationSession.getSessionDate(), poolId));
+
+        nameService.markDisplayed(poolId, selectedIds, rotationSession.getSessionDate());
+        nameService.markSpecial(poolId, specialIds);
+
+        rotationSession.setStatus(RotationSession.PUBLISHED);
+        rotationSession.setPublishedAt(LocalDateTime.now());
+        sessionLockRepository.publish(sessionKey, rotationSession);
+    }
+
+    // Mark a published board version superseded and take it back out of the names' display
+    // counts and dates and their special task counts. Its session's cached board is dropped
+    // and subscribers are told to reload.
+    private void withdrawSession(RotationSession rotationSession) {
+        rotationSession.setStatus(RotationSession.SUPERSEDED);
+        Long poolId = rotationSession.getPool() != null ? rotationSession.getPool().getId() : null;
+        LocalDate sessionDate = rotationSession.getSessionDate();
+        nameService.unmarkDisplayed(poolId, rotationSession.getId(), sessionDate,
+                taskAssignmentRepository.findNameIdsBySessionId(rotationSession.getId(), sessionDate, false));
+        nameService.unmarkSpecial(poolId,
+                taskAssignmentRepository.findNameIdsBySessionId(rotationSession.getId(), sessionDate, true));
+        boardChanged(rotationSession.getSessionKey(), sessionDate, poolId);
+    }
+
+    // A name added to a board must be active, in the board's pool and not on it yet
+    private void validateNameToAdd(Long nameId, Long poolId, Set<Long> boardIds) {
+        NameRegistry.Snapshot names = nameRegistry.snapshot();
+        int index = names.indexOf(nameId);
+        if (index < 0) {
+            throw new RuntimeException("Name not found with id: " + nameId);
+        }
+        if (!names.isActive(index)) {
+            throw new RuntimeException("Name is not active: " + names.getName(index));
+        }
+        if (!Objects.equals(names.getPoolId(index), poolId)) {
+            throw new RuntimeException("Name is not in this pool: " + names.getName(index));
+        }
+        if (boardIds.contains(nameId)) {
+            throw new RuntimeException("Name is already on today's board: " + names.getName(index));
+        }
+    }
+
+    private void validateNumberOfNames(Long poolId, int numberOfNames) {
+        if (numberOfNames < SPECIAL_TASK_COUNT) {
             throw new RuntimeException("Number of names must be at least 4 (for special task selection)");
         }
 
         // Get active names count
-        long activeNamesCount = nameService.getActiveNamesCount();
+        long activeNamesCount = nameService.getActiveNamesCount(poolId);
         if (activeNamesCount < numberOfNames) {
             throw new RuntimeException("Not enough active names. Available: " + activeNamesCount + ", Requested: " + numberOfNames);
         }
+    }
 
-        // Clear existing tasks for today
-        LocalDate today = LocalDate.now();
-        taskAssignmentRepository.deleteBySessionDate(today);
+    // Copy of a task row for another version of its session
+    private static TaskAssignment copyTask(TaskAssignment task, RotationSession rotationSession) {
+        TaskAssignment copy = new TaskAssignment(task.getName(), task.getTaskName(), task.getIsSpecialTask(),
+                task.getSessionDate());
+        copy.setPool(task.getPool());
+        copy.setSession(rotationSession);
+        copy.setSessionSeed(task.getSessionSeed());
+        copy.setSpecialCountAtDraw(task.getSpecialCountAtDraw());
+        return copy;
+    }
 
-        // NEW: Enhanced rotational selection
-        List<Name> selectedNames = getNamesRotationally(numberOfNames);
-        
-        // Create normal task assignments
-        for (Name name : selectedNames) {
-            TaskAssignment task = new TaskAssignment();
-            task.setName(name);
-            task.setTaskName(""); // Empty initially, admin will fill
-            task.setIsSpecialTask(false);
-            task.setSessionDate(today);
-            taskAssignmentRepository.save(task);
-
-            // Update last displayed date for the name
-            nameService.updateLastDisplayed(name);
-        }
-
-        // Randomly select 4 names for special tasks
-        List<Name> shuffledNames = new ArrayList<>(selectedNames);
-        Collections.shuffle(shuffledNames);
-        List<Name> specialNames = shuffledNames.subList(0, Math.min(4, shuffledNames.size()));
-
-        // Create special task assignments
-        for (Name name : specialNames) {
-            TaskAssignment specialTask = new TaskAssignment();
-            specialTask.setName(name);
-            specialTask.setTaskName(null); // No task name for special tasks
-            specialTask.setIsSpecialTask(true);
-            specialTask.setSessionDate(today);
-            taskAssignmentRepository.save(specialTask);
-        }
-    }
-
-    // NEW: Enhanced rotational algorithm
-    private List<Name> getNamesRotationally(int namesNeeded) {
-        List<Name> allActiveNames = nameService.getAllActiveNames();
-        
-        if (allActiveNames.size() <= namesNeeded) {
-            // If we have equal or fewer names than needed, return all
-            return allActiveNames;
-        }
-        
-        // Sort by last displayed date (oldest first) for fairness
-        List<Name> sortedNames = nameService.getNamesOrderedByLastDisplayed();
-        
-        // Select the required number of names
-        List<Name> selectedNames = new ArrayList<>();
-        
-        // First, take names that haven't been assigned recently
-        for (Name name : sortedNames) {
-            if (selectedNames.size() >= namesNeeded) break;
-            selectedNames.add(name);
+    // Build the normal and special task assignments for one session. Normal rows keep the
+    // special task count their name had at the draw, so the draw can be replayed from the rows.
+    private List<TaskAssignment> buildBoard(RotationSession rotationSession, List<Long> selectedIds,
+                                            List<Long> specialIds, long seed, int[] specialTaskCounts) {
+        LocalDate sessionDate = rotationSession.getSessionDate();
+        RotationPool pool = rotationSession.getPool();
+        List<TaskAssignment> tasks = new ArrayList<>(selectedIds.size() + specialIds.size());
+
+        // Create normal task assignments (task name empty initially, admin will fill)
+        List<Name> names = nameService.getNameReferences(selectedIds);
+        for (int i = 0; i < names.size(); i++) {
+            TaskAssignment task = new TaskAssignment(names.get(i), "", false, sessionDate);
+            task.setPool(pool);
+            task.setSession(rotationSession);
+            task.setSessionSeed(seed);
+            task.setSpecialCountAtDraw(specialTaskCounts[i]);
+            tasks.add(task);
         }
-        
-        // If we still need more names, include ones that were assigned longer ago
-        if (selectedNames.size() < namesNeeded) {
-            int remaining = namesNeeded - selectedNames.size();
-            // Get names that were not selected in the first pass
-            List<Name> remainingNames = new ArrayList<>(allActiveNames);
-            remainingNames.removeAll(selectedNames);
-            
-            // Sort remaining names by last displayed date (oldest first)
-            remainingNames.sort(Comparator.comparing(name -> 
-                name.getLastDisplayedDate() != null ? name.getLastDisplayedDate() : LocalDate.MIN
-            ));
-            
-            // Add the oldest remaining names
-            for (int i = 0; i < Math.min(remaining, remainingNames.size()); i++) {
-                selectedNames.add(remainingNames.get(i));
-            }
+
+        // Create special task assignments (no task name for special tasks)
+        for (Name name : nameService.getNameReferences(specialIds)) {
+            TaskAssignment specialTask = new TaskAssignment(name, null, true, sessionDate);
+            specialTask.setPool(pool);
+            specialTask.setSession(rotationSession);
+            specialTask.setSessionSeed(seed);
+            tasks.add(specialTask);
         }
-        
-        return selectedNames;
+
+        return tasks;
     }
 
     // Get normal tasks for today
     public List<TaskAssignment> getNormalTasks() {
         LocalDate today = LocalDate.now();
-        return taskAssignmentRepository.findBySessionDateAndIsSpecialTaskFalse(today);
+        return taskAssignmentRepository.findCurrentBySessionKeyAndIsSpecialTask(sessionKey(today, null), today, false);
     }
 
     // Get special tasks for today
     public List<TaskAssignment> getSpecialTasks() {
         LocalDate today = LocalDate.now();
-        return taskAssignmentRepository.findBySessionDateAndIsSpecialTaskTrue(today);
+        return taskAssignmentRepository.findCurrentBySessionKeyAndIsSpecialTask(sessionKey(today, null), today, true);
     }
 
     // Get all tasks for today
     public List<TaskAssignment> getAllTasksForToday() {
         LocalDate today = LocalDate.now();
-        return taskAssignmentRepository.findBySessionDate(today);
+        return taskAssignmentRepository.findCurrentBySessionKey(sessionKey(today, null), today);
+    }
+
+    // Get today's board of a rotation pool (null = default pool)
+    public TaskBoardDto getBoard(Long poolId) {
+        return getCachedBoard(poolId).getBoard();
+    }
+
+    // Get today's board of a rotation pool with its ETag, from the cache when possible
+    public TaskBoardCache.CachedBoard getCachedBoard(Long poolId) {
+        LocalDate today = LocalDate.now();
+        String sessionKey = sessionKey(today, poolId);
+        return taskBoardCache.get(sessionKey, today, () -> loadBoard(sessionKey, today));
+    }
+
+    // Normal and special tasks of a published board from one query
+    private TaskBoardDto loadBoard(String sessionKey, LocalDate sessionDate) {
+        List<TaskDto> normalTasks = new ArrayList<>();
+        List<TaskDto> specialTasks = new ArrayList<>();
+        for (TaskDto task : taskAssignmentRepository.findCurrentBoardBySessionKey(sessionKey, sessionDate)) {
+            if (Boolean.TRUE.equals(task.getIsSpecialTask())) {
+                specialTasks.add(task);
+            } else {
+                normalTasks.add(task);
+            }
+        }
+        return new TaskBoardDto(normalTasks, specialTasks);
+    }
+
+    // Get all tasks of a rotation pool for today
+    public List<TaskAssignment> getPoolTasksForToday(Long poolId) {
+        LocalDate today = LocalDate.now();
+        return taskAssignmentRepository.findCurrentBySessionKey(sessionKey(today, poolId), today);
     }
 
     // NEW: Enhanced update task with automatic sync between normal and special tasks
@@ -138,6 +539,7 @@ public class TaskService {
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
 
         Name oldName = task.getName(); // Store the old name for sync
+        taskBoardCache.invalidate(task.getSession().getSessionKey());
 
         // Update task name if provided
         if (taskName != null) {
@@ -151,47 +553,167 @@ public class TaskService {
             task.setName(newName);
 
             // NEW: Sync with special tasks - if the old name exists in special tasks, replace it there too
-            syncNameInSpecialTasks(oldName, newName, task.getSessionDate());
+            TaskAssignment specialTask = syncNameInSpecialTasks(oldName, newName, task.getSession().getId());
+            if (specialTask != null) {
+                publishTaskChange(TaskBoardEvent.TASK_REPLACED, specialTask);
+            }
+        }
+
+        TaskAssignment savedTask = taskAssignmentRepository.save(task);
+        publishTaskChange(newNameId != null ? TaskBoardEvent.TASK_REPLACED : TaskBoardEvent.TASK_RENAMED, savedTask);
+        return savedTask;
+    }
+
+    // Apply many task edits in one transaction. Tasks are loaded with one query and special
+    // tasks of the affected boards once, new names are checked against the name registry, and
+    // a replaced name is synced to its special task in memory; the changed rows are then
+    // written as one JDBC batch. The changed tasks are returned with their names taken from
+    // the registry, so the name references are never loaded.
+    @Transactional
+    public List<TaskDto> updateTasks(List<TaskUpdateRequest> updates) {
+        Set<Long> taskIds = new HashSet<>();
+        Set<Long> nameIds = new HashSet<>();
+        for (TaskUpdateRequest update : updates) {
+            if (update.getTaskId() == null) {
+                throw new RuntimeException("Task id is required for every update");
+            }
+            taskIds.add(update.getTaskId());
+            if (update.getNewNameId() != null) {
+                nameIds.add(update.getNewNameId());
+            }
+        }
+        if (taskIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, TaskAssignment> tasksById = new HashMap<>();
+        Set<Long> sessionIds = new HashSet<>();
+        for (TaskAssignment task : taskAssignmentRepository.findAllWithNameByIdIn(taskIds)) {
+            tasksById.put(task.getId(), task);
+            sessionIds.add(task.getSession().getId());
+        }
+        // New names are checked against the registry and referenced without loading them
+        NameRegistry.Snapshot names = nameRegistry.snapshot();
+        Map<Long, Name> namesById = new HashMap<>();
+        for (Long nameId : nameIds) {
+            if (names.contains(nameId)) {
+                namesById.put(nameId, nameService.getNameReferences(List.of(nameId)).get(0));
+            }
+        }
+
+        // Special tasks by board version and name, for the name sync
+        Map<Long, Map<Long, TaskAssignment>> specialTasks = new HashMap<>();
+        for (TaskAssignment specialTask : taskAssignmentRepository.findSpecialWithNameBySessionIdIn(sessionIds)) {
+            specialTasks.computeIfAbsent(specialTask.getSession().getId(), id -> new HashMap<>())
+                    .put(specialTask.getName().getId(), specialTask);
+        }
+
+        Map<TaskAssignment, String> changes = new LinkedHashMap<>();
+        for (TaskUpdateRequest update : updates) {
+            TaskAssignment task = tasksById.get(update.getTaskId());
+            if (task == null) {
+                throw new RuntimeException("Task not found with id: " + update.getTaskId());
+            }
+
+            if (update.getTaskName() != null) {
+                task.setTaskName(update.getTaskName());
+                changes.putIfAbsent(task, TaskBoardEvent.TASK_RENAMED);
+            }
+
+            if (update.getNewNameId() != null) {
+                Name newName = namesById.get(update.getNewNameId());
+                if (newName == null) {
+                    throw new RuntimeException("Name not found with id: " + update.getNewNameId());
+                }
+                Long oldNameId = task.getName().getId();
+                task.setName(newName);
+                changes.put(task, TaskBoardEvent.TASK_REPLACED);
+
+                // Same sync as updateTask: the old name's special task goes to the new name
+                Map<Long, TaskAssignment> boardSpecialTasks =
+                        specialTasks.getOrDefault(task.getSession().getId(), new HashMap<>());
+                TaskAssignment specialTask = boardSpecialTasks.remove(oldNameId);
+                if (specialTask != null) {
+                    specialTask.setName(newName);
+                    boardSpecialTasks.put(newName.getId(), specialTask);
+                    changes.put(specialTask, TaskBoardEvent.TASK_REPLACED);
+                }
+            }
         }
 
-        return taskAssignmentRepository.save(task);
+        List<TaskAssignment> changedTasks = new ArrayList<>(changes.keySet());
+        saveAllTasks(changedTasks);
+        changes.forEach((task, type) -> publishTaskChange(type, task));
+        NameRegistry.Snapshot currentNames = nameRegistry.snapshot();
+        return changedTasks.stream()
+                .map(task -> toDto(task, currentNames))
+                .collect(Collectors.toList());
+    }
+
+    // Tell stream subscribers about one changed task
+    private void publishTaskChange(String type, TaskAssignment task) {
+        TaskDto dto = toDto(task, nameRegistry.snapshot());
+        Long poolId = task.getPool() != null ? task.getPool().getId() : null;
+        taskBoardBroadcaster.publish(new TaskBoardEvent(type, task.getSessionDate(), poolId, dto));
+    }
+
+    // A task as shown on the board, with the name text from the registry
+    private static TaskDto toDto(TaskAssignment task, NameRegistry.Snapshot names) {
+        Long nameId = task.getName().getId();
+        return new TaskDto(task.getId(), nameId, names.nameOf(nameId), task.getTaskName(), task.getIsSpecialTask());
     }
 
-    // NEW: Sync name replacement in special tasks
-    private void syncNameInSpecialTasks(Name oldName, Name newName, LocalDate sessionDate) {
-        // Find if the old name exists in special tasks for the same session date
-        List<TaskAssignment> specialTasks = taskAssignmentRepository.findBySessionDateAndIsSpecialTaskTrue(sessionDate);
+    // NEW: Sync name replacement in special tasks; returns the changed special task, if any
+    private TaskAssignment syncNameInSpecialTasks(Name oldName, Name newName, Long sessionId) {
+        // Find if the old name exists in special tasks of the same board
+        List<TaskAssignment> specialTasks = taskAssignmentRepository.findBySessionIdAndIsSpecialTaskTrue(sessionId);
         
         for (TaskAssignment specialTask : specialTasks) {
             if (specialTask.getName().getId().equals(oldName.getId())) {
                 // Replace the name in special task
                 specialTask.setName(newName);
-                taskAssignmentRepository.save(specialTask);
-                break; // Assuming a name appears only once in special tasks
+                return taskAssignmentRepository.save(specialTask); // Assuming a name appears only once in special tasks
             }
         }
+        return null;
     }
 
-    // Save all task changes
+    // Save all task changes (batched) and drop the cached boards they belong to
     public void saveAllTasks(List<TaskAssignment> tasks) {
         taskAssignmentRepository.saveAll(tasks);
+        Set<String> sessionKeys = new HashSet<>();
+        for (TaskAssignment task : tasks) {
+            sessionKeys.add(task.getSession().getSessionKey());
+        }
+        sessionKeys.forEach(taskBoardCache::invalidate);
     }
 
-    // Clear all tasks for today
+    // Clear all tasks for today, including the board kept for rollback. The published
+    // board's names get their display taken back.
     @Transactional
     public void clearTodayTasks() {
-        LocalDate today = LocalDate.now();
-        taskAssignmentRepository.deleteBySessionDate(today);
+        String sessionKey = lockSession(LocalDate.now(), null);
+        rotationSessionRepository.findFirstBySessionKeyAndStatus(sessionKey, RotationSession.PUBLISHED)
+                .ifPresent(this::withdrawSession);
+        sessionLockRepository.publish(sessionKey, null);
+        taskAssignmentRepository.deleteBySessionKey(sessionKey);
+        rotationSessionRepository.deleteBySessionKey(sessionKey);
     }
 
-    // Get latest session date
+    // Get latest published session date of the default pool
     public LocalDate getLatestSessionDate() {
-        return taskAssignmentRepository.findLatestSessionDate();
+        return getLatestSessionDate(null);
+    }
+
+    // Get latest published session date of a rotation pool (null = default pool)
+    public LocalDate getLatestSessionDate(Long poolId) {
+        return poolId == null
+                ? taskAssignmentRepository.findLatestSessionDate()
+                : taskAssignmentRepository.findLatestSessionDateByPool(poolId);
     }
 
     // Check if tasks exist for today
     public boolean hasTasksForToday() {
-        LocalDate today = LocalDate.now();
-        return !taskAssignmentRepository.findBySessionDate(today).isEmpty();
+        return !getAllTasksForToday().isEmpty();
     }
 }
\ No newline at end of file
@@ -6,12 +6,14 @@ import com.project.namerotation.repository.NameRepository;
 import com.project.namerotationsystem.model.User;
 import com.project.namerotationsystem.model.Name;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,13 +21,21 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final NameRepository nameRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final RotationEngine rotationEngine;
+    private final NameSearchIndex nameSearchIndex;
+    private final NameRegistry nameRegistry;
+    private final PasswordHasher passwordHasher;
 
     @Autowired
-    public UserService(UserRepository userRepository, NameRepository nameRepository) {
+    public UserService(UserRepository userRepository, NameRepository nameRepository,
+                       RotationEngine rotationEngine, NameSearchIndex nameSearchIndex,
+                       NameRegistry nameRegistry, PasswordHasher passwordHasher) {
         this.userRepository = userRepository;
         this.nameRepository = nameRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.rotationEngine = rotationEngine;
+        this.nameSearchIndex = nameSearchIndex;
+        this.nameRegistry = nameRegistry;
+        this.passwordHasher = passwordHasher;
     }
 
     // ===== EXISTING METHODS =====
@@ -55,7 +65,7 @@ public class UserService {
 
         User user = new User();
         user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(passwordHasher.encode(password));
         user.setRole(role);
         // Set default values for new fields
         user.setFullName(username);
@@ -72,7 +82,20 @@ public class UserService {
 
     // Verify password for login
     public boolean verifyPassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return passwordHasher.matches(rawPassword, encodedPassword);
+    }
+    
+    // Verify a login password; a hash made with another work factor than the configured
+    // one is replaced while the raw password is at hand
+    public boolean verifyLogin(User user, String rawPassword) {
+        if (!passwordHasher.matches(rawPassword, user.getPassword())) {
+            return false;
+        }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHasher.encode(rawPassword));
+            userRepository.save(user);
+        }
+        return true;
     }
 
     // Create default admin user if not exists
@@ -108,14 +131,18 @@ public class UserService {
         name.setName(userDto.getFullName());
         name.setIsActive(true);
         name.setDisplayCount(0);
+        name.setRotationPass(rotationEngine.startPass(null));
         Name savedName = nameRepository.save(name);
+        rotationEngine.nameSaved(savedName);
+        nameSearchIndex.nameSaved(savedName);
+        nameRegistry.nameSaved(savedName);
         
         // Create and save the user
         User user = new User();
         user.setFullName(userDto.getFullName());
         user.setUsername(userDto.getUsername());
         user.setEmail(userDto.getEmail());
-        user.setPassword(passwordEncoder.encode(userDto.getPassword()));
+        user.setPassword(passwordHasher.encode(userDto.getPassword()));
         user.setRole(userDto.getRole());
         user.setName(savedName);
         user.setIsActive(true);
@@ -136,24 +163,26 @@ public class UserService {
             throw new RuntimeException("Email already exists: " + userDto.getEmail());
         }
         
-        // Find the existing name
-        Name existingName = nameRepository.findById(userDto.getNameId())
-                .orElseThrow(() -> new RuntimeException("Name not found with id: " + userDto.getNameId()));
+        // Find the existing name in the registry; the user only needs a reference to it
+        String existingName = nameRegistry.snapshot().nameOf(userDto.getNameId());
+        if (existingName == null) {
+            throw new RuntimeException("Name not found with id: " + userDto.getNameId());
+        }
         
-        // Check if name already has a user account
-        if (userRepository.findUsersWithNames().stream()
-                .anyMatch(user -> user.getName() != null && user.getName().getId().equals(existingName.getId()))) {
+        // Check if name already has a user account. Deleted (inactive) accounts count too:
+        // users.name_id is unique, so the name cannot get a second row.
+        if (userRepository.findByNameId(userDto.getNameId()).isPresent()) {
             throw new RuntimeException("Name already has a user account");
         }
         
         // Create and save the user
         User user = new User();
-        user.setFullName(userDto.getFullName() != null ? userDto.getFullName() : existingName.getName());
+        user.setFullName(userDto.getFullName() != null ? userDto.getFullName() : existingName);
         user.setUsername(userDto.getUsername());
         user.setEmail(userDto.getEmail());
-        user.setPassword(passwordEncoder.encode(userDto.getPassword()));
+        user.setPassword(passwordHasher.encode(userDto.getPassword()));
         user.setRole(userDto.getRole() != null ? userDto.getRole() : "USER");
-        user.setName(existingName);
+        user.setName(nameRepository.getReferenceById(userDto.getNameId()));
         user.setIsActive(true);
         
         User savedUser = userRepository.save(user);
@@ -161,14 +190,81 @@ public class UserService {
         return convertToDto(savedUser);
     }
     
-    // Bulk create accounts for existing names
+    // Bulk create accounts for existing names. The whole batch is checked up front: taken
+    // usernames, emails and names with one query each, duplicates within the batch and name
+    // ownership with hash sets, names against the name registry. Passwords are then hashed
+    // in parallel and the users inserted in JDBC batches. Nothing is created if any account
+    // is invalid.
     @Transactional
     public List<UserDto> createBulkAccounts(List<UserDto> userDtos) {
-        return userDtos.stream()
-                .map(this::createUserForExistingName)
+        if (userDtos == null || userDtos.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        NameRegistry.Snapshot names = nameRegistry.snapshot();
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<Long> nameIds = new HashSet<>();
+        for (UserDto userDto : userDtos) {
+            if (isBlank(userDto.getUsername()) || isBlank(userDto.getEmail()) || isBlank(userDto.getPassword())) {
+                throw new RuntimeException("Username, email and password are required for every account");
+            }
+            if (!usernames.add(userDto.getUsername())) {
+                throw new RuntimeException("Username appears more than once: " + userDto.getUsername());
+            }
+            if (!emails.add(userDto.getEmail())) {
+                throw new RuntimeException("Email appears more than once: " + userDto.getEmail());
+            }
+            if (userDto.getNameId() == null || !names.contains(userDto.getNameId())) {
+                throw new RuntimeException("Name not found with id: " + userDto.getNameId());
+            }
+            if (!nameIds.add(userDto.getNameId())) {
+                throw new RuntimeException("Name appears more than once: " + names.nameOf(userDto.getNameId()));
+            }
+        }
+
+        List<String> takenUsernames = userRepository.findExistingUsernames(usernames);
+        if (!takenUsernames.isEmpty()) {
+            throw new RuntimeException("Username already exists: " + takenUsernames.get(0));
+        }
+        List<String> takenEmails = userRepository.findExistingEmails(emails);
+        if (!takenEmails.isEmpty()) {
+            throw new RuntimeException("Email already exists: " + takenEmails.get(0));
+        }
+        Set<Long> linkedNameIds = new HashSet<>(userRepository.findLinkedNameIds(nameIds));
+        for (UserDto userDto : userDtos) {
+            if (linkedNameIds.contains(userDto.getNameId())) {
+                throw new RuntimeException("Name already has a user account: " + names.nameOf(userDto.getNameId()));
+            }
+        }
+
+        List<String> hashes = passwordHasher.encodeAll(userDtos.stream()
+                .map(UserDto::getPassword)
+                .collect(Collectors.toList()));
+
+        List<User> users = new ArrayList<>(userDtos.size());
+        for (int i = 0; i < userDtos.size(); i++) {
+            UserDto userDto = userDtos.get(i);
+            User user = new User();
+            user.setFullName(userDto.getFullName() != null ? userDto.getFullName() : names.nameOf(userDto.getNameId()));
+            user.setUsername(userDto.getUsername());
+            user.setEmail(userDto.getEmail());
+            user.setPassword(hashes.get(i));
+            user.setRole(userDto.getRole() != null ? userDto.getRole() : "USER");
+            user.setName(nameRepository.getReferenceById(userDto.getNameId()));
+            user.setIsActive(true);
+            users.add(user);
+        }
+
+        return userRepository.saveAll(users).stream()
+                .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+    
     // Get all users with their linked names (for admin view)
     public List<UserDto> getAllUsersWithNames() {
         return userRepository.findAllActiveWithNames().stream()
@@ -208,7 +304,7 @@ public class UserService {
         
         // Only update password if provided
         if (userDto.getPassword() != null && !userDto.getPassword().trim().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(userDto.getPassword()));
+            user.setPassword(passwordHasher.encode(userDto.getPassword()));
         }
         
         User updatedUser = userRepository.save(user);
@@ -0,0 +1,234 @@
+package com.project.namerotation.simulation;
+
+import com.project.namerotation.service.RotationDraw;
+import com.project.namerotation.service.RotationQueue;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Offline rotation simulator and benchmark. Runs the production selection
+// (RotationQueue + SpecialTaskSampler through RotationDraw) against an in-memory
+// roster, without Spring or a database, and reports throughput, per-session latency
+// and allocation, and fairness statistics.
+//
+// Usage (after mvn compile):
+//   java -Xmx4g -cp target/classes com.project.namerotation.simulation.RotationSimulator \
+//        --names=1000000 --days=365 --board=40 --mode=WEIGHTED --heavy-share=0.1 --seed=1
+public class RotationSimulator {
+
+    private static final int SPECIAL_TASK_COUNT = 4;
+
+    public static void main(String[] args) {
+        Map<String, String> options = parseOptions(args);
+        int names = Integer.parseInt(options.getOrDefault("names", "10000"));
+        int days = Integer.parseInt(options.getOrDefault("days", "365"));
+        int board = Integer.parseInt(options.getOrDefault("board", "40"));
+        RotationQueue.Mode mode = RotationQueue.Mode.valueOf(options.getOrDefault("mode", "LAST_DISPLAYED"));
+        double heavyShare = Double.parseDouble(options.getOrDefault("heavy-share", "0"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+
+        if (names < board || board < SPECIAL_TASK_COUNT) {
+            throw new IllegalArgumentException("Need names >= board >= " + SPECIAL_TASK_COUNT);
+        }
+
+        System.out.printf("Simulating %d names, %d days, board of %d, mode %s%n", names, days, board, mode);
+        SimulationResult result = run(names, days, board, mode, heavyShare, seed);
+        result.print();
+    }
+
+    // Run the simulation; names get ids 1..names, a share of them weight 2 (heavyShare)
+    public static SimulationResult run(int names, int days, int board, RotationQueue.Mode mode,
+                                       double heavyShare, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        RotationQueue queue = new RotationQueue(mode);
+        int[] weights = new int[names];
+        for (long id = 1; id <= names; id++) {
+            int weight = random.nextDouble() < heavyShare ? 2 : 1;
+            weights[(int) (id - 1)] = weight;
+            queue.upsert(id, null, 0, weight, 0, 0L);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        int[] lastDay = new int[names];
+        Arrays.fill(lastDay, -1);
+        int maxGap = 0;
+        long[] latencies = new long[days];
+        long[] allocations = new long[days];
+
+        LocalDate start = LocalDate.of(2000, 1, 1);
+        long totalStart = System.nanoTime();
+        for (int day = 0; day < days; day++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long before = System.nanoTime();
+
+            RotationDraw draw = RotationDraw.next(queue, board, SPECIAL_TASK_COUNT, start.plusDays(day),
+                    random.nextLong());
+
+            latencies[day] = System.nanoTime() - before;
+            allocations[day] = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            for (Long id : draw.getSelectedIds()) {
+                int index = (int) (id - 1);
+                int gap = lastDay[index] < 0 ? day + 1 : day - lastDay[index];
+                maxGap = Math.max(maxGap, gap);
+                lastDay[index] = day;
+            }
+        }
+        long totalNanos = System.nanoTime() - totalStart;
+
+        int[] displayCounts = new int[names];
+        int[] specialCounts = new int[names];
+        int neverShown = 0;
+        for (int index = 0; index < names; index++) {
+            RotationQueue.Entry entry = queue.get(index + 1L);
+            displayCounts[index] = entry.getDisplayCount();
+            specialCounts[index] = entry.getSpecialTaskCount();
+            if (lastDay[index] < 0) {
+                neverShown++;
+            } else {
+                // Time since the last appearance also counts as a gap
+                maxGap = Math.max(maxGap, days - 1 - lastDay[index]);
+            }
+        }
+
+        return new SimulationResult(days, board, totalNanos, latencies, allocations, maxGap, neverShown,
+                displayCounts, specialCounts, weights);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    // Statistics of one simulation run
+    public static class SimulationResult {
+
+        private final int days;
+        private final int board;
+        private final long totalNanos;
+        private final long[] latencies;
+        private final long[] allocations;
+        private final int maxGap;
+        private final int neverShown;
+        private final int[] displayCounts;
+        private final int[] specialCounts;
+        private final int[] weights;
+
+        SimulationResult(int days, int board, long totalNanos, long[] latencies, long[] allocations,
+                         int maxGap, int neverShown, int[] displayCounts, int[] specialCounts, int[] weights) {
+            this.days = days;
+            this.board = board;
+            this.totalNanos = totalNanos;
+            this.latencies = latencies.clone();
+            this.allocations = allocations.clone();
+            this.maxGap = maxGap;
+            this.neverShown = neverShown;
+            this.displayCounts = displayCounts;
+            this.specialCounts = specialCounts;
+            this.weights = weights;
+            Arrays.sort(this.latencies);
+            Arrays.sort(this.allocations);
+        }
+
+        public double getSessionsPerSecond() {
+            return days / (totalNanos / 1e9);
+        }
+
+        public long getLatencyPercentileNanos(double percentile) {
+            return percentile(latencies, percentile);
+        }
+
+        public long getAllocationPercentileBytes(double percentile) {
+            return percentile(allocations, percentile);
+        }
+
+        public int getMaxGap() {
+            return maxGap;
+        }
+
+        public int getNeverShown() {
+            return neverShown;
+        }
+
+        // Average display count of the names with the given weight (NaN if there are none)
+        public double getAverageDisplayCount(int weight) {
+            long total = 0;
+            int count = 0;
+            for (int i = 0; i < weights.length; i++) {
+                if (weights[i] == weight) {
+                    total += displayCounts[i];
+                    count++;
+                }
+            }
+            return count > 0 ? (double) total / count : Double.NaN;
+        }
+
+        public double getDisplayCountGini() {
+            return gini(displayCounts);
+        }
+
+        public double getSpecialCountGini() {
+            return gini(specialCounts);
+        }
+
+        public int getSpecialCountSpread() {
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int count : specialCounts) {
+                min = Math.min(min, count);
+                max = Math.max(max, count);
+            }
+            return max - min;
+        }
+
+        public void print() {
+            System.out.printf("Throughput:        %.1f sessions/s, %.0f names/s%n",
+                    getSessionsPerSecond(), getSessionsPerSecond() * board);
+            System.out.printf("Session latency:   p50 %.3f ms, p99 %.3f ms%n",
+                    getLatencyPercentileNanos(50) / 1e6, getLatencyPercentileNanos(99) / 1e6);
+            System.out.printf("Allocation:        p50 %d B, p99 %d B per session%n",
+                    getAllocationPercentileBytes(50), getAllocationPercentileBytes(99));
+            System.out.printf("Max gap:           %d days (%d names never shown)%n", maxGap, neverShown);
+            System.out.printf("Gini displayCount: %.4f%n", getDisplayCountGini());
+            System.out.printf("Average shows:     %.2f at weight 1, %.2f at weight 2%n",
+                    getAverageDisplayCount(1), getAverageDisplayCount(2));
+            System.out.printf("Special tasks:     spread %d, Gini %.4f%n", getSpecialCountSpread(), getSpecialCountGini());
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        // Gini coefficient: 0 = perfectly even, 1 = everything on one name
+        private static double gini(int[] values) {
+            int[] sorted = values.clone();
+            Arrays.sort(sorted);
+            long total = 0;
+            double weighted = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                total += sorted[i];
+                weighted += (double) (i + 1) * sorted[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            int n = sorted.length;
+            return (2 * weighted) / (n * (double) total) - (n + 1.0) / n;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.namerotationsystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A task generation that was run for a client-supplied idempotency key,
+// so that a retried request returns the existing board instead of regenerating
+@Entity
+@Table(name = "generation_requests")
+public class GenerationRequest {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "idempotency_key", nullable = false, unique = true, length = 100)
+    private String idempotencyKey;
+    
+    @Column(name = "session_date", nullable = false)
+    private LocalDate sessionDate;
+    
+    @Column(name = "pool_id")
+    private Long poolId;
+    
+    @Column(name = "number_of_names", nullable = false)
+    private Integer numberOfNames;
+    
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public GenerationRequest() {}
+    
+    public GenerationRequest(String idempotencyKey, LocalDate sessionDate, Long poolId, Integer numberOfNames) {
+        this.idempotencyKey = idempotencyKey;
+        this.sessionDate = sessionDate;
+        this.poolId = poolId;
+        this.numberOfNames = numberOfNames;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    
+    public LocalDate getSessionDate() { return sessionDate; }
+    public void setSessionDate(LocalDate sessionDate) { this.sessionDate = sessionDate; }
+    
+    public Long getPoolId() { return poolId; }
+    public void setPoolId(Long poolId) { this.poolId = poolId; }
+    
+    public Integer getNumberOfNames() { return numberOfNames; }
+    public void setNumberOfNames(Integer numberOfNames) { this.numberOfNames = numberOfNames; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 public class Name {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "names_seq")
+    @SequenceGenerator(name = "names_seq", sequenceName = "names_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 100)
@@ -21,12 +22,29 @@ public class Name {
     @Column(name = "display_count")
     private Integer displayCount = 0;
     
+    // Number of special tasks this name has had, for fair special task selection
+    @Column(name = "special_task_count")
+    private Integer specialTaskCount = 0;
+    
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
     @Column(name = "is_active")
     private Boolean isActive = true;
     
+    // Relative share of boards in weighted rotation mode (2 = twice as often as 1)
+    @Column(name = "weight")
+    private Integer weight = 1;
+    
+    // Stride scheduling pass in weighted rotation mode; advances by STRIDE_UNIT / weight per board
+    @Column(name = "rotation_pass")
+    private Long rotationPass = 0L;
+    
+    // Rotation pool this name belongs to (null = default pool)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pool_id")
+    private RotationPool pool;
+    
     // NEW: OneToOne relationship with User (matching your User entity)
     @OneToOne(mappedBy = "name", cascade = CascadeType.ALL, orphanRemoval = true)
     private User user;
@@ -77,6 +95,14 @@ public class Name {
         this.displayCount = displayCount;
     }
     
+    public Integer getSpecialTaskCount() {
+        return specialTaskCount;
+    }
+    
+    public void setSpecialTaskCount(Integer specialTaskCount) {
+        this.specialTaskCount = specialTaskCount;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -93,6 +119,30 @@ public class Name {
         this.isActive = isActive;
     }
     
+    public Integer getWeight() {
+        return weight;
+    }
+    
+    public void setWeight(Integer weight) {
+        this.weight = weight;
+    }
+    
+    public Long getRotationPass() {
+        return rotationPass;
+    }
+    
+    public void setRotationPass(Long rotationPass) {
+        this.rotationPass = rotationPass;
+    }
+    
+    public RotationPool getPool() {
+        return pool;
+    }
+    
+    public void setPool(RotationPool pool) {
+        this.pool = pool;
+    }
+    
     // NEW: Getter and Setter for user (OneToOne)
     public User getUser() {
         return user;
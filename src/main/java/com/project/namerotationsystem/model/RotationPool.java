@@ -0,0 +1,52 @@
+package com.project.namerotationsystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// An independent rotation (one team): its names rotate only among themselves.
+// Names and tasks without a pool belong to the default pool.
+@Entity
+@Table(name = "rotation_pools")
+public class RotationPool {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rotation_pools_seq")
+    @SequenceGenerator(name = "rotation_pools_seq", sequenceName = "rotation_pools_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+    
+    // Number of names on this pool's daily board
+    @Column(name = "board_size", nullable = false)
+    private Integer boardSize;
+    
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public RotationPool() {}
+    
+    public RotationPool(String name, Integer boardSize) {
+        this.name = name;
+        this.boardSize = boardSize;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public Integer getBoardSize() { return boardSize; }
+    public void setBoardSize(Integer boardSize) { this.boardSize = boardSize; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,86 @@
+package com.project.namerotationsystem.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One version of a session's board (date and pool). A new version is built next to
+// the published one and then published by moving the session's pointer
+// (SessionLock.currentSession); the previous version is kept for rollback.
+@Entity
+@Table(name = "rotation_sessions", uniqueConstraints = @UniqueConstraint(
+        name = "uk_rotation_sessions_key_version", columnNames = {"session_key", "version"}))
+public class RotationSession {
+    
+    public static final String BUILDING = "BUILDING";
+    public static final String PUBLISHED = "PUBLISHED";
+    public static final String SUPERSEDED = "SUPERSEDED";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Same key as the session's SessionLock row
+    @Column(name = "session_key", nullable = false, length = 64)
+    private String sessionKey;
+    
+    @Column(name = "session_date", nullable = false)
+    private LocalDate sessionDate;
+    
+    // Rotation pool of this session (null = default pool)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pool_id")
+    private RotationPool pool;
+    
+    @Column(nullable = false)
+    private Integer version;
+    
+    @Column(nullable = false, length = 20)
+    private String status = BUILDING; // BUILDING, PUBLISHED or SUPERSEDED
+    
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public RotationSession() {}
+    
+    public RotationSession(String sessionKey, LocalDate sessionDate, RotationPool pool, Integer version) {
+        this.sessionKey = sessionKey;
+        this.sessionDate = sessionDate;
+        this.pool = pool;
+        this.version = version;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getSessionKey() { return sessionKey; }
+    public void setSessionKey(String sessionKey) { this.sessionKey = sessionKey; }
+    
+    public LocalDate getSessionDate() { return sessionDate; }
+    public void setSessionDate(LocalDate sessionDate) { this.sessionDate = sessionDate; }
+    
+    public RotationPool getPool() { return pool; }
+    public void setPool(RotationPool pool) { this.pool = pool; }
+    
+    public Integer getVersion() { return version; }
+    public void setVersion(Integer version) { this.version = version; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(LocalDateTime publishedAt) { this.publishedAt = publishedAt; }
+}
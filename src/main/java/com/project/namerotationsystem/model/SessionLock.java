@@ -0,0 +1,34 @@
+package com.project.namerotationsystem.model;
+
+import jakarta.persistence.*;
+
+// One row per session (date and pool). It is locked with SELECT ... FOR UPDATE so that
+// only one transaction at a time can regenerate that session's board, and it points to
+// the published version of the board, so publishing a new version is a single update.
+@Entity
+@Table(name = "session_locks")
+public class SessionLock {
+    
+    @Id
+    @Column(name = "lock_key", length = 64)
+    private String lockKey;
+    
+    // Published board of this session (null = nothing published)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "current_session_id")
+    private RotationSession currentSession;
+    
+    // Constructors
+    public SessionLock() {}
+    
+    public SessionLock(String lockKey) {
+        this.lockKey = lockKey;
+    }
+    
+    // Getters and Setters
+    public String getLockKey() { return lockKey; }
+    public void setLockKey(String lockKey) { this.lockKey = lockKey; }
+    
+    public RotationSession getCurrentSession() { return currentSession; }
+    public void setCurrentSession(RotationSession currentSession) { this.currentSession = currentSession; }
+}
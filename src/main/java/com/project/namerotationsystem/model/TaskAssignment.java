@@ -2,22 +2,34 @@ package com.project.namerotationsystem.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "task_assignments")
+@Table(name = "task_assignments", uniqueConstraints = @UniqueConstraint(
+        name = "uk_task_assignments_session_name",
+        columnNames = {"rotation_session_id", "name_id", "is_special_task"}),
+        indexes = {
+                @Index(name = "idx_task_assignments_session_date", columnList = "session_date, id"),
+                @Index(name = "idx_task_assignments_pool_date", columnList = "pool_id, session_date, id"),
+                @Index(name = "idx_task_assignments_name_date", columnList = "name_id, session_date, id")
+        })
 public class TaskAssignment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_assignments_seq")
+    @SequenceGenerator(name = "task_assignments_seq", sequenceName = "task_assignments_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -33,6 +45,25 @@ public class TaskAssignment {
     @Column(name = "session_date", nullable = false)
     private LocalDate sessionDate;
     
+    // Seed of the special task draw of this session, to replay it for audits
+    @Column(name = "session_seed")
+    private Long sessionSeed;
+    
+    // Special task count of the name when the special tasks were drawn (normal tasks only);
+    // with the seed and the board order it replays the draw
+    @Column(name = "special_count_at_draw")
+    private Integer specialCountAtDraw;
+    
+    // Rotation pool of this board (null = default pool)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pool_id")
+    private RotationPool pool;
+    
+    // Board version this task belongs to
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "rotation_session_id", nullable = false)
+    private RotationSession session;
+    
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
@@ -97,6 +128,38 @@ public class TaskAssignment {
         this.sessionDate = sessionDate;
     }
     
+    public Long getSessionSeed() {
+        return sessionSeed;
+    }
+    
+    public void setSessionSeed(Long sessionSeed) {
+        this.sessionSeed = sessionSeed;
+    }
+    
+    public Integer getSpecialCountAtDraw() {
+        return specialCountAtDraw;
+    }
+    
+    public void setSpecialCountAtDraw(Integer specialCountAtDraw) {
+        this.specialCountAtDraw = specialCountAtDraw;
+    }
+    
+    public RotationPool getPool() {
+        return pool;
+    }
+    
+    public void setPool(RotationPool pool) {
+        this.pool = pool;
+    }
+    
+    public RotationSession getSession() {
+        return session;
+    }
+    
+    public void setSession(RotationSession session) {
+        this.session = session;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
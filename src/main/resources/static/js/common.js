@@ -183,3 +183,65 @@ window.addEventListener('unhandledrejection', (event) => {
     console.error('Unhandled promise rejection:', event.reason);
     // You might want to send this to a logging service
 });
+
+// Follow live changes of today's task board (default pool) over Server-Sent Events.
+// onTaskChanged gets the changed task; onBoardRegenerated means the whole board must be
+// reloaded. The browser reconnects by itself if the stream drops.
+function subscribeToTaskBoard(onTaskChanged, onBoardRegenerated) {
+    if (!window.EventSource) {
+        return null;
+    }
+    
+    const source = new EventSource(`${API_BASE}/tasks/stream`, { withCredentials: true });
+    // Only changes to today's default pool board concern the page
+    const isShownBoard = (change) => {
+        const now = new Date();
+        const today = `${now.getFullYear()}-${String(now.getMonth() + 1).padStart(2, '0')}-${String(now.getDate()).padStart(2, '0')}`;
+        return change.poolId == null && change.sessionDate === today;
+    };
+    const handleTaskEvent = (event) => {
+        const change = JSON.parse(event.data);
+        if (isShownBoard(change)) {
+            onTaskChanged(change.task);
+        }
+    };
+    source.addEventListener('task-replaced', handleTaskEvent);
+    source.addEventListener('task-renamed', handleTaskEvent);
+    source.addEventListener('board-regenerated', (event) => {
+        const change = JSON.parse(event.data);
+        if (isShownBoard(change)) {
+            onBoardRegenerated();
+        }
+    });
+    return source;
+}
+
+// Put a changed task into a board loaded from /tasks/board (matched by task id)
+function applyTaskChange(board, task) {
+    const tasks = task.isSpecialTask ? board.specialTasks : board.normalTasks;
+    const index = tasks.findIndex(existing => existing.id === task.id);
+    if (index >= 0) {
+        tasks[index] = task;
+    }
+}
+
+// Search active names for a picker, next in line first (empty query = next names in line)
+async function searchNames(query, limit = 20) {
+    const params = new URLSearchParams({ q: query || '', limit });
+    const response = await fetch(`${API_BASE}/names/search?${params}`, {
+        credentials: 'include'
+    });
+    return response.json();
+}
+
+// Picker label of a name search result with its rotation recency
+function formatNameSearchResult(result) {
+    let lastShown = 'never shown';
+    if (result.lastDisplayedDate) {
+        // yyyy-MM-dd is a calendar day; new Date(string) would read it as UTC midnight
+        const [year, month, day] = result.lastDisplayedDate.split('-').map(Number);
+        lastShown = 'last shown ' + new Date(year, month - 1, day)
+            .toLocaleDateString('en-US', { month: 'short', day: 'numeric', year: 'numeric' });
+    }
+    return `${result.name} (${lastShown})`;
+}
@@ -42,51 +42,24 @@ async function handleGenerateTasks(event) {
     }
 }
 
-// Load all tasks
+// Load all tasks (normal and special) in one request
 async function loadTasks() {
-    await Promise.all([
-        loadNormalTasks(),
-        loadSpecialTasks()
-    ]);
-}
-
-// Load normal tasks
-async function loadNormalTasks() {
     try {
-        const response = await fetch(`${API_BASE}/tasks/normal`, {
+        const response = await fetch(`${API_BASE}/tasks/board`, {
             credentials: 'include'
         });
         
         const result = await response.json();
         
         if (result.status === 'success') {
-            displayNormalTasks(result.data);
+            displayNormalTasks(result.data.normalTasks);
+            displaySpecialTasks(result.data.specialTasks);
         } else {
-            showToast('Failed to load normal tasks', 'error');
+            showToast('Failed to load tasks', 'error');
         }
     } catch (error) {
-        console.error('Load normal tasks error:', error);
-        showToast('Error loading normal tasks', 'error');
-    }
-}
-
-// Load special tasks
-async function loadSpecialTasks() {
-    try {
-        const response = await fetch(`${API_BASE}/tasks/special`, {
-            credentials: 'include'
-        });
-        
-        const result = await response.json();
-        
-        if (result.status === 'success') {
-            displaySpecialTasks(result.data);
-        } else {
-            showToast('Failed to load special tasks', 'error');
-        }
-    } catch (error) {
-        console.error('Load special tasks error:', error);
-        showToast('Error loading special tasks', 'error');
+        console.error('Load tasks error:', error);
+        showToast('Error loading tasks', 'error');
     }
 }
 
@@ -196,7 +169,8 @@ let currentReplacementTaskId = null;
 function openReplaceModal(taskId, currentName) {
     currentReplacementTaskId = taskId;
     document.getElementById('replaceModal').classList.add('show');
-    loadAvailableNames();
+    document.getElementById('replaceSearch').value = '';
+    loadAvailableNames('');
 }
 
 function closeReplaceModal() {
@@ -205,18 +179,26 @@ function closeReplaceModal() {
     document.getElementById('availableNames').innerHTML = '<option value="">Loading names...</option>';
 }
 
-async function loadAvailableNames() {
+// Search as the admin types, once typing pauses
+let replaceSearchTimer = null;
+
+function onReplaceSearchInput() {
+    clearTimeout(replaceSearchTimer);
+    replaceSearchTimer = setTimeout(() => {
+        loadAvailableNames(document.getElementById('replaceSearch').value);
+    }, 200);
+}
+
+// Names matching the search, next in line first
+async function loadAvailableNames(query) {
     try {
-        const response = await fetch(`${API_BASE}/names/active`, {
-            credentials: 'include'
-        });
-        const result = await response.json();
+        const result = await searchNames(query);
         
         if (result.status === 'success') {
             const select = document.getElementById('availableNames');
             select.innerHTML = '<option value="">Select a name...</option>' + 
                 result.data.map(name => 
-                    `<option value="${name.id}">${name.name}</option>`
+                    `<option value="${name.id}">${formatNameSearchResult(name)}</option>`
                 ).join('');
         } else {
             showToast('Failed to load available names', 'error');
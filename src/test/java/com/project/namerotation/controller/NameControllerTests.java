@@ -0,0 +1,236 @@
+package com.project.namerotation.controller;
+
+import com.project.namerotation.dto.UserDto;
+import com.project.namerotation.repository.GenerationRequestRepository;
+import com.project.namerotation.repository.NameRepository;
+import com.project.namerotation.repository.RotationPoolRepository;
+import com.project.namerotation.repository.RotationSessionRepository;
+import com.project.namerotation.repository.SessionLockRepository;
+import com.project.namerotation.repository.TaskAssignmentRepository;
+import com.project.namerotation.repository.UserRepository;
+import com.project.namerotation.service.NameRegistry;
+import com.project.namerotation.service.NameSearchIndex;
+import com.project.namerotation.service.NameService;
+import com.project.namerotation.service.RotationEngine;
+import com.project.namerotation.service.RotationPoolService;
+import com.project.namerotation.service.TaskBoardCache;
+import com.project.namerotation.service.TaskService;
+import com.project.namerotation.service.UserService;
+import com.project.namerotationsystem.model.Name;
+import com.project.namerotationsystem.model.RotationPool;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class NameControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private NameService nameService;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private TaskBoardCache taskBoardCache;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private RotationPoolService rotationPoolService;
+
+	@Autowired
+	private NameRepository nameRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskAssignmentRepository taskAssignmentRepository;
+
+	@Autowired
+	private RotationPoolRepository rotationPoolRepository;
+
+	@Autowired
+	private GenerationRequestRepository generationRequestRepository;
+
+	@Autowired
+	private SessionLockRepository sessionLockRepository;
+
+	@Autowired
+	private RotationSessionRepository rotationSessionRepository;
+
+	@Autowired
+	private RotationEngine rotationEngine;
+
+	@Autowired
+	private NameRegistry nameRegistry;
+
+	@Autowired
+	private NameSearchIndex nameSearchIndex;
+
+	@BeforeEach
+	void clearRoster() {
+		generationRequestRepository.deleteAllInBatch();
+		taskAssignmentRepository.deleteAllInBatch();
+		sessionLockRepository.deleteAllInBatch();
+		rotationSessionRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+		nameRepository.deleteAllInBatch();
+		rotationPoolRepository.deleteAllInBatch();
+		rotationEngine.invalidate();
+		nameRegistry.invalidate();
+		nameSearchIndex.invalidate();
+		taskBoardCache.invalidateAll();
+	}
+
+	// Other test classes clear the names without their accounts
+	@AfterEach
+	void removeAccounts() {
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void nameListsAreServedFromTheRegistry() throws Exception {
+		List<Name> names = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			names.add(nameService.addName("Member " + i));
+		}
+		for (int i = 0; i < 5; i++) {
+			UserDto user = new UserDto();
+			user.setFullName("User " + i);
+			user.setUsername("user" + i);
+			user.setEmail("user" + i + "@example.com");
+			user.setPassword("secret");
+			user.setRole("USER");
+			userService.createUserWithName(user);
+		}
+		RotationPool north = rotationPoolService.createPool("North", 4);
+		rotationPoolService.addName(north.getId(), "North 0");
+		rotationPoolService.addName(north.getId(), "North 1");
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		// The first read loads the registry with one statement, later reads use memory only
+		statistics.clear();
+		mockMvc.perform(get("/api/names").sessionAttr("userId", 1L))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.length()").value(27));
+		assertEquals(1, statistics.getPrepareStatementCount());
+
+		nameService.updateName(names.get(0).getId(), "Renamed");
+		nameService.deleteName(names.get(1).getId());
+
+		statistics.clear();
+		mockMvc.perform(get("/api/names/active").sessionAttr("userId", 1L))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.length()").value(26))
+				.andExpect(jsonPath("$.data[0].name").value("Renamed"));
+		mockMvc.perform(get("/api/names/count").sessionAttr("userId", 1L))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data").value(26));
+		mockMvc.perform(get("/api/names").param("poolId", north.getId().toString()).sessionAttr("userId", 1L))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.length()").value(2))
+				.andExpect(jsonPath("$.data[1].name").value("North 1"));
+		assertEquals(0, statistics.getPrepareStatementCount());
+
+		// Accounts are not part of the registry: one projection query
+		statistics.clear();
+		mockMvc.perform(get("/api/names/without-accounts").sessionAttr("userId", 1L))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.length()").value(21));
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void bulkDeleteAndDeactivateTakeAFixedNumberOfStatements() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			ids.add(nameService.addName("Member " + i).getId());
+		}
+		for (int i = 0; i < 5; i++) {
+			UserDto user = new UserDto();
+			user.setFullName("User " + i);
+			user.setUsername("user" + i);
+			user.setEmail("user" + i + "@example.com");
+			user.setPassword("secret");
+			user.setRole("USER");
+			ids.add(userService.createUserWithName(user).getNameId());
+		}
+		assertEquals(45, rotationEngine.getActiveCount(null));
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		statistics.clear();
+		mockMvc.perform(post("/api/names/bulk-delete").sessionAttr("userId", 1L)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"ids\":" + ids.subList(20, 45) + "}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.count").value(25))
+				.andExpect(jsonPath("$.data.skippedIds.length()").value(0));
+		// The check for task history, then announcements, activities, users and names
+		assertEquals(5, statistics.getPrepareStatementCount());
+		assertEquals(0, userRepository.count());
+
+		statistics.clear();
+		mockMvc.perform(post("/api/names/bulk-deactivate").sessionAttr("userId", 1L)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"ids\":" + ids.subList(0, 15) + "}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data").value(15));
+		assertEquals(1, statistics.getPrepareStatementCount());
+
+		assertEquals(20, nameRepository.count());
+		assertEquals(5, nameService.getActiveNamesCount());
+		assertEquals(5, rotationEngine.getActiveCount(null));
+	}
+
+	@Test
+	void bulkDeleteKeepsNamesWithTaskHistory() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			ids.add(nameService.addName("Member " + i).getId());
+		}
+		taskService.generateTasks(4);
+		List<Long> boardIds = taskAssignmentRepository.findAll().stream()
+				.map(task -> task.getName().getId())
+				.distinct()
+				.sorted()
+				.toList();
+
+		mockMvc.perform(post("/api/names/bulk-delete").sessionAttr("userId", 1L)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"ids\":" + ids + "}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.count").value(10 - boardIds.size()))
+				.andExpect(jsonPath("$.data.skippedIds.length()").value(boardIds.size()));
+
+		assertEquals(boardIds, nameRepository.findAll().stream().map(Name::getId).sorted().toList());
+	}
+}
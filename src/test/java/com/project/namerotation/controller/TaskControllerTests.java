@@ -0,0 +1,102 @@
+package com.project.namerotation.controller;
+
+import com.project.namerotation.repository.GenerationRequestRepository;
+import com.project.namerotation.repository.NameRepository;
+import com.project.namerotation.repository.RotationPoolRepository;
+import com.project.namerotation.repository.RotationSessionRepository;
+import com.project.namerotation.repository.SessionLockRepository;
+import com.project.namerotation.repository.TaskAssignmentRepository;
+import com.project.namerotation.service.NameRegistry;
+import com.project.namerotation.service.NameService;
+import com.project.namerotation.service.RotationEngine;
+import com.project.namerotation.service.TaskBoardCache;
+import com.project.namerotation.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private NameService nameService;
+
+	@Autowired
+	private NameRepository nameRepository;
+
+	@Autowired
+	private TaskAssignmentRepository taskAssignmentRepository;
+
+	@Autowired
+	private RotationPoolRepository rotationPoolRepository;
+
+	@Autowired
+	private GenerationRequestRepository generationRequestRepository;
+
+	@Autowired
+	private SessionLockRepository sessionLockRepository;
+
+	@Autowired
+	private RotationSessionRepository rotationSessionRepository;
+
+	@Autowired
+	private RotationEngine rotationEngine;
+
+	@Autowired
+	private NameRegistry nameRegistry;
+
+	@Autowired
+	private TaskBoardCache taskBoardCache;
+
+	@BeforeEach
+	void clearRoster() {
+		generationRequestRepository.deleteAllInBatch();
+		taskAssignmentRepository.deleteAllInBatch();
+		sessionLockRepository.deleteAllInBatch();
+		rotationSessionRepository.deleteAllInBatch();
+		nameRepository.deleteAllInBatch();
+		rotationPoolRepository.deleteAllInBatch();
+		rotationEngine.invalidate();
+		nameRegistry.invalidate();
+		taskBoardCache.invalidateAll();
+	}
+
+	@Test
+	void boardIsNotModifiedWhenAnyListedEtagMatches() throws Exception {
+		for (int i = 0; i < 6; i++) {
+			nameService.addName("Member " + i);
+		}
+		taskService.generateTasks(4);
+
+		String etag = mockMvc.perform(get("/api/tasks/board").sessionAttr("userId", 1L))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/tasks/board").sessionAttr("userId", 1L)
+						.header(HttpHeaders.IF_NONE_MATCH, "\"stale\", " + etag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/tasks/board").sessionAttr("userId", 1L)
+						.header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/tasks/board").sessionAttr("userId", 1L)
+						.header(HttpHeaders.IF_NONE_MATCH, "*"))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/tasks/board").sessionAttr("userId", 1L)
+						.header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+				.andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,138 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.dto.NameImportResult;
+import com.project.namerotation.repository.GenerationRequestRepository;
+import com.project.namerotation.repository.NameRepository;
+import com.project.namerotation.repository.RotationPoolRepository;
+import com.project.namerotation.repository.RotationSessionRepository;
+import com.project.namerotation.repository.SessionLockRepository;
+import com.project.namerotation.repository.TaskAssignmentRepository;
+import com.project.namerotationsystem.model.Name;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class NameImportServiceTests {
+
+	@Autowired
+	private NameImportService nameImportService;
+
+	@Autowired
+	private NameService nameService;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private NameRepository nameRepository;
+
+	@Autowired
+	private TaskAssignmentRepository taskAssignmentRepository;
+
+	@Autowired
+	private RotationPoolRepository rotationPoolRepository;
+
+	@Autowired
+	private GenerationRequestRepository generationRequestRepository;
+
+	@Autowired
+	private SessionLockRepository sessionLockRepository;
+
+	@Autowired
+	private RotationSessionRepository rotationSessionRepository;
+
+	@Autowired
+	private RotationEngine rotationEngine;
+
+	@Autowired
+	private NameRegistry nameRegistry;
+
+	@BeforeEach
+	void clearRoster() {
+		generationRequestRepository.deleteAllInBatch();
+		taskAssignmentRepository.deleteAllInBatch();
+		sessionLockRepository.deleteAllInBatch();
+		rotationSessionRepository.deleteAllInBatch();
+		nameRepository.deleteAllInBatch();
+		rotationPoolRepository.deleteAllInBatch();
+		rotationEngine.invalidate();
+		nameRegistry.invalidate();
+	}
+
+	@Test
+	void importSkipsDuplicatesAndReportsBadRows() throws IOException {
+		nameService.addName("Alice");
+		// Loads the default pool's queue, which the import has to refresh
+		assertEquals(1, rotationEngine.getActiveCount(null));
+
+		String csv = "name,weight\n" +
+				"  alice \n" +
+				"Bob,2\n" +
+				"\"Smith, Carol\"\n" +
+				"bob\n" +
+				"Dave,zero\n" +
+				"Eve,0\n" +
+				",\n";
+		NameImportResult result = nameImportService.importNames(
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "csv", null);
+
+		assertEquals(2, result.getImported());
+		assertEquals(2, result.getDuplicates());
+		assertEquals(3, result.getFailed());
+		assertEquals(List.of(2L, 5L, 6L, 7L, 8L),
+				result.getErrors().stream().map(NameImportResult.RowError::getLine).collect(Collectors.toList()));
+
+		Name bob = nameRepository.findByName("Bob").get(0);
+		assertEquals(2, bob.getWeight());
+		assertEquals(1, nameRepository.findByName("Smith, Carol").size());
+		assertEquals(3, rotationEngine.getActiveCount(null));
+
+		// Ids taken by the import do not collide with names saved through JPA
+		Name frank = nameService.addName("Frank");
+		assertTrue(frank.getId() > 0);
+		assertEquals(4, rotationEngine.getActiveCount(null));
+	}
+
+	@Test
+	void ndjsonNameOfAnotherTypeIsReportedWithItsLine() throws IOException {
+		String ndjson = "{\"name\":\"Alice\"}\n" +
+				"{\"name\":42}\n";
+		NameImportResult result = nameImportService.importNames(
+				new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), "ndjson", null);
+
+		assertEquals(1, result.getImported());
+		NameImportResult.RowError error = result.getErrors().get(0);
+		assertEquals(2L, error.getLine());
+		assertEquals("Field \"name\" must be a string, got number: 42", error.getMessage());
+	}
+
+	@Test
+	void importOfManyNamesFeedsTheRotation() throws IOException {
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < 12000; i++) {
+			ndjson.append("{\"name\":\"Member ").append(i).append("\"}\n");
+		}
+		NameImportResult result = nameImportService.importNames(
+				new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), "ndjson", null);
+
+		assertEquals(12000, result.getImported());
+		Set<Long> ids = new HashSet<>(nameRepository.findAll().stream().map(Name::getId).collect(Collectors.toList()));
+		assertEquals(12000, ids.size());
+
+		taskService.generateTasks(10);
+		assertEquals(10, taskService.getNormalTasks().size());
+	}
+}
@@ -0,0 +1,105 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.dto.NameSearchResult;
+import com.project.namerotation.repository.GenerationRequestRepository;
+import com.project.namerotation.repository.NameRepository;
+import com.project.namerotation.repository.RotationPoolRepository;
+import com.project.namerotation.repository.RotationSessionRepository;
+import com.project.namerotation.repository.SessionLockRepository;
+import com.project.namerotation.repository.TaskAssignmentRepository;
+import com.project.namerotationsystem.model.Name;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class NameSearchServiceTests {
+
+	@Autowired
+	private NameSearchService nameSearchService;
+
+	@Autowired
+	private NameSearchIndex nameSearchIndex;
+
+	@Autowired
+	private NameService nameService;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private NameRepository nameRepository;
+
+	@Autowired
+	private TaskAssignmentRepository taskAssignmentRepository;
+
+	@Autowired
+	private RotationPoolRepository rotationPoolRepository;
+
+	@Autowired
+	private GenerationRequestRepository generationRequestRepository;
+
+	@Autowired
+	private SessionLockRepository sessionLockRepository;
+
+	@Autowired
+	private RotationSessionRepository rotationSessionRepository;
+
+	@Autowired
+	private RotationEngine rotationEngine;
+
+	@Autowired
+	private NameRegistry nameRegistry;
+
+	@BeforeEach
+	void clearRoster() {
+		generationRequestRepository.deleteAllInBatch();
+		taskAssignmentRepository.deleteAllInBatch();
+		sessionLockRepository.deleteAllInBatch();
+		rotationSessionRepository.deleteAllInBatch();
+		nameRepository.deleteAllInBatch();
+		rotationPoolRepository.deleteAllInBatch();
+		rotationEngine.invalidate();
+		nameRegistry.invalidate();
+		nameSearchIndex.invalidate();
+	}
+
+	@Test
+	void searchFollowsNameChangesAndListsNextInLineFirst() {
+		Name alice = nameService.addName("Alice Martin");
+		nameService.addName("Malik Ali");
+		nameService.addName("Bob Stone");
+		nameService.addName("Carol Smith");
+		nameService.addName("Dan Brown");
+		nameService.addName("Erin Gray");
+
+		// Word prefix for short queries, substring for longer ones
+		assertEquals(List.of("Alice Martin", "Malik Ali"), names(nameSearchService.search("al", null, 10)));
+		assertEquals(List.of("Alice Martin", "Malik Ali"), names(nameSearchService.search("ALI", null, 10)));
+		assertEquals(List.of("Alice Martin"), names(nameSearchService.search("mart", null, 10)));
+
+		nameService.updateName(alice.getId(), "Alicia Stone");
+		assertEquals(List.of("Alicia Stone", "Bob Stone"), names(nameSearchService.search("stone", null, 10)));
+		nameService.deleteName(alice.getId());
+		assertEquals(List.of("Bob Stone"), names(nameSearchService.search("stone", null, 10)));
+
+		// Names just shown on a board go to the back of the line
+		taskService.generateTasks(4);
+		List<NameSearchResult> next = nameSearchService.search("", null, 10);
+		assertEquals(5, next.size());
+		assertNull(next.get(0).getLastDisplayedDate());
+		assertEquals(LocalDate.now(), next.get(4).getLastDisplayedDate());
+	}
+
+	private static List<String> names(List<NameSearchResult> results) {
+		return results.stream().map(NameSearchResult::getName).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,55 @@
+package com.project.namerotation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTests {
+
+	@Test
+	void hashesOfAnotherWorkFactorNeedARehash() {
+		PasswordHasher cheap = new PasswordHasher(2, 4, 4);
+		PasswordHasher stronger = new PasswordHasher(2, 4, 5);
+		try {
+			String hash = cheap.encode("secret");
+			assertTrue(cheap.matches("secret", hash));
+			assertFalse(cheap.matches("wrong", hash));
+			assertFalse(cheap.needsRehash(hash));
+			assertTrue(stronger.needsRehash(hash));
+			assertTrue(stronger.matches("secret", hash));
+
+			List<String> hashes = cheap.encodeAll(List.of("a", "b", "c", "d", "e"));
+			assertEquals(5, hashes.size());
+			assertTrue(cheap.matches("d", hashes.get(3)));
+			assertEquals(9L, cheap.getStats().get("operations"));
+		} finally {
+			cheap.shutdown();
+			stronger.shutdown();
+		}
+	}
+
+	@Test
+	void saturatedPoolFailsFast() throws InterruptedException {
+		// One thread and no queue: a second operation while the first runs is rejected
+		PasswordHasher hasher = new PasswordHasher(1, 0, 13);
+		Thread slow = new Thread(() -> hasher.encode("slow"));
+		try {
+			slow.start();
+			while (((Integer) hasher.getStats().get("activeThreads")) == 0) {
+				Thread.sleep(5);
+			}
+			assertThrows(PasswordHasher.BusyException.class, () -> hasher.encode("fast"));
+			// A batch is refused too, rather than hashed on the calling thread
+			assertThrows(PasswordHasher.BusyException.class, () -> hasher.encodeAll(List.of("a", "b")));
+			assertEquals(2L, hasher.getStats().get("rejected"));
+		} finally {
+			slow.join();
+			hasher.shutdown();
+		}
+	}
+}
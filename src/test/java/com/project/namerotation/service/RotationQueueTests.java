@@ -0,0 +1,127 @@
+package com.project.namerotation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RotationQueueTests {
+
+	private static final LocalDate DAY = LocalDate.of(2026, 1, 5);
+
+	@Test
+	void neverDisplayedNamesComeFirstThenOldestDate() {
+		RotationQueue queue = new RotationQueue();
+		queue.upsert(1L, DAY.minusDays(1), 3);
+		queue.upsert(2L, null, 0);
+		queue.upsert(3L, DAY.minusDays(5), 7);
+		queue.upsert(4L, DAY.minusDays(1), 2);
+
+		assertEquals(List.of(2L, 3L, 4L, 1L), queue.peek(4));
+	}
+
+	@Test
+	void pollMovesSelectedNamesToTheBack() {
+		RotationQueue queue = new RotationQueue();
+		for (long id = 1; id <= 5; id++) {
+			queue.upsert(id, null, 0);
+		}
+
+		assertEquals(List.of(1L, 2L, 3L), queue.poll(3, DAY));
+		assertEquals(List.of(4L, 5L, 1L), queue.poll(3, DAY.plusDays(1)));
+		assertEquals(1, queue.get(4L).getDisplayCount());
+		assertEquals(2, queue.get(1L).getDisplayCount());
+	}
+
+	@Test
+	void removedNamesAreNoLongerSelected() {
+		RotationQueue queue = new RotationQueue();
+		queue.upsert(1L, null, 0);
+		queue.upsert(2L, null, 0);
+		queue.remove(1L);
+
+		assertFalse(queue.contains(1L));
+		assertEquals(List.of(2L), queue.peek(5));
+	}
+
+	@Test
+	void copyIsIndependentOfTheOriginal() {
+		RotationQueue queue = new RotationQueue();
+		queue.upsert(1L, null, 0);
+		queue.upsert(2L, null, 0);
+
+		RotationQueue copy = new RotationQueue(queue);
+		copy.poll(1, DAY);
+
+		assertEquals(List.of(1L, 2L), queue.peek(2));
+		assertEquals(List.of(2L, 1L), copy.peek(2));
+	}
+
+	@Test
+	void weightedModePicksNamesInProportionToTheirWeight() {
+		RotationQueue queue = new RotationQueue(RotationQueue.Mode.WEIGHTED);
+		queue.upsert(1L, null, 0, 1, 0);
+		queue.upsert(2L, null, 0, 1, 0);
+		queue.upsert(3L, null, 0, 2, 0);
+		queue.upsert(4L, null, 0, 4, 0);
+
+		for (int day = 0; day < 40; day++) {
+			queue.poll(2, DAY.plusDays(day));
+		}
+
+		assertEquals(10, queue.get(1L).getDisplayCount());
+		assertEquals(10, queue.get(2L).getDisplayCount());
+		assertEquals(20, queue.get(3L).getDisplayCount());
+		assertEquals(40, queue.get(4L).getDisplayCount());
+	}
+
+	@Test
+	void weightedModeLetsLateAndReweightedNamesJoinWithoutTakingOver() {
+		RotationQueue queue = new RotationQueue(RotationQueue.Mode.WEIGHTED);
+		for (long id = 1; id <= 6; id++) {
+			queue.upsert(id, null, 0, 1, 0);
+		}
+		for (int day = 0; day < 30; day++) {
+			queue.poll(2, DAY.plusDays(day));
+		}
+
+		// A newcomer gets its share of 2 in 7 boards, not every board until it has caught up
+		queue.upsert(7L, null, 0, 1, 0);
+		int newcomerBoards = 0;
+		for (int day = 30; day < 37; day++) {
+			if (queue.poll(2, DAY.plusDays(day)).contains(7L)) {
+				newcomerBoards++;
+			}
+		}
+		assertTrue(newcomerBoards >= 1 && newcomerBoards <= 3, "newcomer on " + newcomerBoards + " of 7 boards");
+
+		// Doubling a weight doubles the share (4 in 8 boards) from now on
+		RotationQueue.Entry first = queue.get(1L);
+		queue.upsert(1L, first.getLastDisplayedDate(), first.getDisplayCount(), 2, 0);
+		int reweightedBoards = 0;
+		for (int day = 37; day < 45; day++) {
+			if (queue.poll(2, DAY.plusDays(day)).contains(1L)) {
+				reweightedBoards++;
+			}
+		}
+		assertTrue(reweightedBoards >= 3 && reweightedBoards <= 5, "reweighted name on " + reweightedBoards + " of 8 boards");
+
+
+		// The start pass follows moves and removals, and copies keep it
+		RotationQueue passes = new RotationQueue(RotationQueue.Mode.WEIGHTED);
+		passes.upsert(1L, null, 0, 1, 0, 100L);
+		passes.upsert(2L, null, 0, 1, 0, 100L);
+		passes.upsert(3L, null, 0, 1, 0, 300L);
+		passes.remove(1L);
+		assertEquals(100L, passes.startPass());
+		passes.markDisplayed(List.of(2L), DAY);
+		assertEquals(300L, passes.startPass());
+		assertEquals(300L, new RotationQueue(passes).startPass());
+		passes.remove(3L);
+		assertEquals(100L + RotationQueue.STRIDE_UNIT, passes.startPass());
+	}
+}
@@ -0,0 +1,44 @@
+package com.project.namerotation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpecialTaskSamplerTests {
+
+	private static final List<Long> BOARD = LongStream.rangeClosed(1, 40).boxed().collect(Collectors.toList());
+
+	@Test
+	void sameSeedGivesTheSameDraw() {
+		List<Long> first = SpecialTaskSampler.sample(BOARD, 4, 42L, id -> 0);
+		List<Long> replay = SpecialTaskSampler.sample(BOARD, 4, 42L, id -> 0);
+
+		assertEquals(4, new HashSet<>(first).size());
+		assertEquals(first, replay);
+	}
+
+	@Test
+	void namesWithFewestSpecialTasksWin() {
+		Map<Long, Integer> counts = BOARD.stream()
+				.collect(Collectors.toMap(id -> id, id -> id % 10 == 0 ? 0 : 3));
+
+		List<Long> sample = SpecialTaskSampler.sample(BOARD, 4, 7L, counts::get);
+
+		assertEquals(new HashSet<>(List.of(10L, 20L, 30L, 40L)), new HashSet<>(sample));
+	}
+
+	@Test
+	void smallBoardsReturnEveryName() {
+		List<Long> sample = SpecialTaskSampler.sample(List.of(5L, 6L), 4, 1L, id -> 0);
+
+		assertEquals(2, sample.size());
+		assertTrue(sample.containsAll(List.of(5L, 6L)));
+	}
+}
@@ -0,0 +1,208 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.dto.TaskHistoryEntry;
+import com.project.namerotation.dto.TaskHistoryPage;
+import com.project.namerotation.repository.GenerationRequestRepository;
+import com.project.namerotation.repository.NameRepository;
+import com.project.namerotation.repository.RotationPoolRepository;
+import com.project.namerotation.repository.RotationSessionRepository;
+import com.project.namerotation.repository.SessionLockRepository;
+import com.project.namerotation.repository.TaskAssignmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TaskArchiveServiceTests {
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private NameService nameService;
+
+	@Autowired
+	private TaskArchiveService taskArchiveService;
+
+	@Autowired
+	private TaskHistoryService taskHistoryService;
+
+	@Autowired
+	private TaskExportService taskExportService;
+
+	@Autowired
+	private NameRepository nameRepository;
+
+	@Autowired
+	private TaskAssignmentRepository taskAssignmentRepository;
+
+	@Autowired
+	private RotationPoolRepository rotationPoolRepository;
+
+	@Autowired
+	private GenerationRequestRepository generationRequestRepository;
+
+	@Autowired
+	private SessionLockRepository sessionLockRepository;
+
+	@Autowired
+	private RotationSessionRepository rotationSessionRepository;
+
+	@Autowired
+	private RotationEngine rotationEngine;
+
+	@Autowired
+	private NameRegistry nameRegistry;
+
+	@Autowired
+	private TaskBoardCache taskBoardCache;
+
+	@Value("${rotation.archive.dir}")
+	private String archiveDir;
+
+	@BeforeEach
+	void clearRoster() throws IOException {
+		generationRequestRepository.deleteAllInBatch();
+		taskAssignmentRepository.deleteAllInBatch();
+		sessionLockRepository.deleteAllInBatch();
+		rotationSessionRepository.deleteAllInBatch();
+		nameRepository.deleteAllInBatch();
+		rotationPoolRepository.deleteAllInBatch();
+		rotationEngine.invalidate();
+		nameRegistry.invalidate();
+		taskBoardCache.invalidateAll();
+		FileSystemUtils.deleteRecursively(Paths.get(archiveDir));
+		taskArchiveService.invalidate();
+	}
+
+	@Test
+	void oldBoardsMoveToTheArchiveAndStayInHistory() {
+		for (int i = 0; i < 6; i++) {
+			nameService.addName("Member " + i);
+		}
+		LocalDate today = LocalDate.now();
+		LocalDate old = today.minusDays(800);
+		taskService.generateSchedule(old, 2, 4);
+		taskService.generateTasks(4);
+
+		List<TaskHistoryEntry> before = history(old, old.plusDays(1));
+		assertEquals(16, before.size());
+
+		List<YearMonth> archived = taskArchiveService.archiveOldSessions(today);
+
+		assertTrue(archived.contains(YearMonth.from(old)));
+		assertTrue(taskAssignmentRepository.findPublishedHistory(old, old.plusDays(2)).isEmpty());
+		assertEquals(taskIds(before), taskIds(history(old, old.plusDays(1))));
+
+		// Today's board is untouched
+		assertEquals(4, taskService.getNormalTasks().size());
+		assertEquals(8, history(today, today).size());
+	}
+
+	@Test
+	void historyPagesContinueFromArchiveIntoTheDatabase() {
+		for (int i = 0; i < 6; i++) {
+			nameService.addName("Member " + i);
+		}
+		LocalDate today = LocalDate.now();
+		LocalDate old = today.minusDays(800);
+		taskService.generateSchedule(old, 3, 4);
+		taskArchiveService.archiveOldSessions(today);
+		taskService.generateTasks(4);
+
+		List<TaskHistoryEntry> all = taskHistoryService.getTaskHistory(old, today, null, null, null, 1000).getEntries();
+		assertEquals(32, all.size());
+
+		// Page size 5 does not line up with days or the archive boundary
+		List<TaskHistoryEntry> paged = history(old, today);
+		assertEquals(taskIds(all), taskIds(paged));
+
+		Long nameId = all.get(0).getNameId();
+		TaskHistoryPage namePage = taskHistoryService.getNameHistory(nameId, old, today, null, null, 1000);
+		assertTrue(namePage.getEntries().stream().allMatch(entry -> nameId.equals(entry.getNameId())));
+		assertEquals(all.stream().filter(entry -> nameId.equals(entry.getNameId())).count(),
+				namePage.getEntries().size());
+	}
+
+	@Test
+	void lateBoardOfAnArchivedMonthDoesNotHideLaterArchives() throws IOException {
+		for (int i = 0; i < 6; i++) {
+			nameService.addName("Member " + i);
+		}
+		LocalDate today = LocalDate.now();
+		LocalDate old = YearMonth.from(today.minusDays(800)).atDay(1);
+		taskService.generateSchedule(old, 2, 4);
+		taskService.generateSchedule(old.plusMonths(2), 2, 4);
+		taskArchiveService.archiveOldSessions(today);
+
+		// A board generated afterwards for a day of the first archived month stays in the database
+		taskService.generateSchedule(old.plusDays(5), 1, 4);
+
+		List<TaskHistoryEntry> entries = history(old, old.plusMonths(3));
+		assertEquals(40, entries.size());
+		assertEquals(40, entries.stream().map(TaskHistoryEntry::getTaskId).distinct().count());
+		for (int i = 1; i < entries.size(); i++) {
+			assertTrue(!entries.get(i).getSessionDate().isBefore(entries.get(i - 1).getSessionDate()));
+		}
+
+		// Exports read the same way
+		ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+		assertEquals(40, taskExportService.export(old, old.plusMonths(3), TaskExportService.Format.NDJSON, ndjson));
+	}
+
+	@Test
+	void exportStreamsArchivedAndLiveTasks() throws IOException {
+		for (int i = 0; i < 6; i++) {
+			nameService.addName("Member, " + i);
+		}
+		LocalDate today = LocalDate.now();
+		LocalDate old = today.minusDays(800);
+		taskService.generateSchedule(old, 2, 4);
+		taskArchiveService.archiveOldSessions(today);
+		taskService.generateTasks(4);
+
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		assertEquals(24, taskExportService.export(old, today, TaskExportService.Format.CSV, csv));
+		String[] lines = csv.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(25, lines.length);
+		assertTrue(lines[1].startsWith(old + ",,"));
+		assertTrue(lines[1].contains(",\"Member, "));
+
+		ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+		assertEquals(8, taskExportService.export(today, today, TaskExportService.Format.NDJSON, ndjson));
+		assertEquals(8, ndjson.toString(StandardCharsets.UTF_8).lines()
+				.filter(line -> line.contains("\"sessionDate\":\"" + today + "\"")).count());
+	}
+
+	// All entries of the default pool's history, read in pages of five
+	private List<TaskHistoryEntry> history(LocalDate from, LocalDate to) {
+		List<TaskHistoryEntry> entries = new ArrayList<>();
+		TaskHistoryPage page = taskHistoryService.getTaskHistory(from, to, null, null, null, 5);
+		entries.addAll(page.getEntries());
+		while (page.getNextAfterDate() != null) {
+			page = taskHistoryService.getTaskHistory(from, to, null, page.getNextAfterDate(), page.getNextAfterId(), 5);
+			entries.addAll(page.getEntries());
+		}
+		return entries;
+	}
+
+	private static List<Long> taskIds(List<TaskHistoryEntry> entries) {
+		return entries.stream().map(TaskHistoryEntry::getTaskId).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,88 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.repository.NameRepository;
+import com.project.namerotation.repository.TaskAssignmentRepository;
+import com.project.namerotationsystem.model.Name;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Generate latency and JDBC statements per generation for growing rosters (board size =
+// roster size), as quoted for the batched board writes. Slow, so only run on demand:
+// mvn test -Dtest=TaskGenerationBenchmarkTests -Dbenchmark=true
+// For the figures before the batched writes, run this class (without the name registry,
+// which did not exist yet) at 6b090a4 with the H2 test setup added. H2 checks id = ANY(:ids)
+// against every array element row by row, so on H2 the bulk UPDATEs grow with roster size
+// times board size; PostgreSQL serves them from the primary key index.
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskGenerationBenchmarkTests {
+
+	private static final int RUNS = 5;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private NameRepository nameRepository;
+
+	@Autowired
+	private TaskAssignmentRepository taskAssignmentRepository;
+
+	@Autowired
+	private RotationEngine rotationEngine;
+
+	@Autowired
+	private NameRegistry nameRegistry;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void generateLatency() {
+		for (int rosterSize : new int[] {100, 1_000, 10_000}) {
+			seedRoster(rosterSize);
+
+			// Warm up caches and the JIT before measuring
+			taskService.generateTasks(rosterSize);
+
+			Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+			long[] millis = new long[RUNS];
+			long statements = 0;
+			for (int run = 0; run < RUNS; run++) {
+				statistics.clear();
+				long start = System.nanoTime();
+				taskService.generateTasks(rosterSize);
+				millis[run] = (System.nanoTime() - start) / 1_000_000;
+				statements = statistics.getPrepareStatementCount();
+			}
+			Arrays.sort(millis);
+			System.out.printf("generateTasks(%d): median %d ms, min %d ms, max %d ms, %d statements%n",
+					rosterSize, millis[RUNS / 2], millis[0], millis[RUNS - 1], statements);
+		}
+	}
+
+	private void seedRoster(int size) {
+		taskAssignmentRepository.deleteAllInBatch();
+		nameRepository.deleteAllInBatch();
+
+		List<Name> names = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Name name = new Name("Member " + i);
+			name.setIsActive(true);
+			name.setDisplayCount(0);
+			names.add(name);
+		}
+		nameRepository.saveAll(names);
+		rotationEngine.invalidate();
+		nameRegistry.invalidate();
+	}
+}
@@ -0,0 +1,388 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.dto.TaskBoardDto;
+import com.project.namerotation.dto.TaskDto;
+import com.project.namerotation.dto.TaskUpdateRequest;
+import com.project.namerotation.repository.GenerationRequestRepository;
+import com.project.namerotation.repository.NameRepository;
+import com.project.namerotation.repository.RotationPoolRepository;
+import com.project.namerotation.repository.RotationSessionRepository;
+import com.project.namerotation.repository.SessionLockRepository;
+import com.project.namerotation.repository.TaskAssignmentRepository;
+import com.project.namerotationsystem.model.Name;
+import com.project.namerotationsystem.model.RotationPool;
+import com.project.namerotationsystem.model.TaskAssignment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class TaskServiceTests {
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private NameService nameService;
+
+	@Autowired
+	private NameRepository nameRepository;
+
+	@Autowired
+	private TaskAssignmentRepository taskAssignmentRepository;
+
+	@Autowired
+	private RotationPoolRepository rotationPoolRepository;
+
+	@Autowired
+	private RotationPoolService rotationPoolService;
+
+	@Autowired
+	private GenerationRequestRepository generationRequestRepository;
+
+	@Autowired
+	private SessionLockRepository sessionLockRepository;
+
+	@Autowired
+	private RotationSessionRepository rotationSessionRepository;
+
+	@Autowired
+	private RotationEngine rotationEngine;
+
+	@Autowired
+	private NameRegistry nameRegistry;
+
+	@Autowired
+	private TaskBoardCache taskBoardCache;
+
+	@Autowired
+	private DashboardStatsService dashboardStatsService;
+
+	@BeforeEach
+	void clearRoster() {
+		generationRequestRepository.deleteAllInBatch();
+		taskAssignmentRepository.deleteAllInBatch();
+		sessionLockRepository.deleteAllInBatch();
+		rotationSessionRepository.deleteAllInBatch();
+		nameRepository.deleteAllInBatch();
+		rotationPoolRepository.deleteAllInBatch();
+		rotationEngine.invalidate();
+		nameRegistry.invalidate();
+		taskBoardCache.invalidateAll();
+	}
+
+	@Test
+	void generateTasksMarksSelectedNamesAsDisplayed() {
+		addNames(6);
+		nameRegistry.snapshot();
+
+		taskService.generateTasks(4);
+
+		List<TaskAssignment> normal = taskService.getNormalTasks();
+		assertEquals(4, normal.size());
+		assertEquals(4, taskService.getSpecialTasks().size());
+
+		Map<String, Object> stats = dashboardStatsService.getStats();
+		assertEquals(6L, stats.get("totalNames"));
+		assertEquals(4L, stats.get("normalTasks"));
+		assertEquals(4L, stats.get("specialTasks"));
+		assertEquals(LocalDate.now(), stats.get("latestSessionDate"));
+
+		TaskBoardDto board = taskService.getBoard(null);
+		assertEquals(nameIds(normal), board.getNormalTasks().stream().map(TaskDto::getNameId).collect(Collectors.toSet()));
+		assertEquals(4, board.getSpecialTasks().size());
+
+		for (TaskAssignment task : normal) {
+			Name name = nameRepository.findById(task.getName().getId()).orElseThrow();
+			assertEquals(LocalDate.now(), name.getLastDisplayedDate());
+			assertEquals(1, name.getDisplayCount());
+
+			NameRegistry.Snapshot names = nameRegistry.snapshot();
+			int index = names.indexOf(name.getId());
+			assertEquals(LocalDate.now(), names.getLastDisplayedDate(index));
+			assertEquals(1, names.getDisplayCount(index));
+		}
+	}
+
+	@Test
+	void scheduleRotatesThroughTheWholeRoster() {
+		addNames(8);
+		LocalDate from = LocalDate.now().plusDays(1);
+
+		List<LocalDate> dates = taskService.generateSchedule(from, 2, 4);
+
+		assertEquals(List.of(from, from.plusDays(1)), dates);
+		Set<Long> firstDay = normalNameIds(from);
+		Set<Long> secondDay = normalNameIds(from.plusDays(1));
+		assertEquals(4, firstDay.size());
+		assertEquals(4, secondDay.size());
+
+		Set<Long> everyone = new HashSet<>(firstDay);
+		everyone.addAll(secondDay);
+		assertEquals(8, everyone.size());
+
+		for (Name name : nameRepository.findAll()) {
+			assertEquals(1, name.getDisplayCount());
+			LocalDate expected = secondDay.contains(name.getId()) ? from.plusDays(1) : from;
+			assertEquals(expected, name.getLastDisplayedDate());
+		}
+
+		// Planning the same days again replaces the boards instead of counting names twice
+		taskService.generateSchedule(from, 2, 4);
+		assertEquals(8, union(normalNameIds(from), normalNameIds(from.plusDays(1))).size());
+		Set<Long> replanned = normalNameIds(from.plusDays(1));
+		for (Name name : nameRepository.findAll()) {
+			assertEquals(1, name.getDisplayCount());
+			LocalDate expected = replanned.contains(name.getId()) ? from.plusDays(1) : from;
+			assertEquals(expected, name.getLastDisplayedDate());
+			assertEquals(1, rotationEngine.inRotationOrder(null, List.of(name.getId())).get(0).getDisplayCount());
+		}
+	}
+
+	@Test
+	void generateAllPoolsKeepsPoolsSeparate() {
+		addNames(5);
+		RotationPool north = rotationPoolService.createPool("North", 4);
+		RotationPool south = rotationPoolService.createPool("South", 5);
+		for (int i = 0; i < 6; i++) {
+			rotationPoolService.addName(north.getId(), "North " + i);
+			rotationPoolService.addName(south.getId(), "South " + i);
+		}
+		taskService.generateTasks(4);
+		assertEquals(LocalDate.now(), taskService.getLatestSessionDate());
+		assertNull(taskService.getLatestSessionDate(north.getId()));
+
+		assertEquals(Map.of(), rotationPoolService.generateAllPools());
+		assertEquals(LocalDate.now(), taskService.getLatestSessionDate(north.getId()));
+
+		assertEquals(8, taskService.getAllTasksForToday().size());
+		List<TaskAssignment> northTasks = taskService.getPoolTasksForToday(north.getId());
+		List<TaskAssignment> southTasks = taskService.getPoolTasksForToday(south.getId());
+		assertEquals(8, northTasks.size());
+		assertEquals(9, southTasks.size());
+		for (TaskAssignment task : northTasks) {
+			Name name = nameRepository.findById(task.getName().getId()).orElseThrow();
+			assertEquals(north.getId(), name.getPool().getId());
+		}
+	}
+
+	@Test
+	void concurrentGenerationsProduceOneConsistentBoard() throws Exception {
+		addNames(10);
+
+		// Retries of one request: only the first generates
+		int generated = 0;
+		for (boolean result : runConcurrently(50, () -> taskService.generateTasks(null, 4, "retry-key"))) {
+			generated += result ? 1 : 0;
+		}
+		assertEquals(1, generated);
+		assertEquals(4, nameRepository.findAll().stream().mapToInt(Name::getDisplayCount).sum());
+
+		// A replay changes nothing, so the cached board stays
+		String etag = taskService.getCachedBoard(null).getEtag();
+		assertFalse(taskService.generateTasks(null, 4, "retry-key"));
+		assertEquals(etag, taskService.getCachedBoard(null).getEtag());
+
+		// The same key with another number of names is not a retry
+		assertThrows(TaskService.IdempotencyKeyReusedException.class, () -> taskService.generateTasks(null, 5, "retry-key"));
+
+		// Independent requests: each replaces the board, and the last one wins whole; the
+		// replaced boards no longer count
+		runConcurrently(50, () -> taskService.generateTasks(null, 4, null));
+		assertEquals(4, taskService.getNormalTasks().size());
+		assertEquals(4, taskService.getSpecialTasks().size());
+		assertEquals(4, nameRepository.findAll().stream().mapToInt(Name::getDisplayCount).sum());
+	}
+
+	@Test
+	void rollbackRestoresThePreviousBoard() {
+		addNames(8);
+		taskService.generateTasks(4);
+		Set<Long> first = nameIds(taskService.getNormalTasks());
+		taskService.generateTasks(4);
+		Set<Long> second = nameIds(taskService.getNormalTasks());
+		assertEquals(8, union(first, second).size());
+
+		taskService.rollbackSession(null);
+		assertEquals(first, nameIds(taskService.getNormalTasks()));
+		assertEquals(4, taskService.getSpecialTasks().size());
+
+		// The next generation replaces the withdrawn board, keeping the restored one as previous
+		taskService.generateTasks(4);
+		taskService.rollbackSession(null);
+		assertEquals(first, nameIds(taskService.getNormalTasks()));
+	}
+
+	@Test
+	void specialDrawReplaysFromTheBoardAndFollowsThePublishedBoard() {
+		addNames(10);
+		taskService.generateTasks(6);
+		Set<Long> firstSpecial = nameIds(taskService.getSpecialTasks());
+		taskService.generateTasks(6);
+
+		// Board order, stored counts and seed give the same special task names again
+		List<TaskAssignment> normal = new ArrayList<>(taskService.getNormalTasks());
+		normal.sort(Comparator.comparing(TaskAssignment::getId));
+		List<Long> boardIds = normal.stream().map(task -> task.getName().getId()).collect(Collectors.toList());
+		int[] counts = normal.stream().mapToInt(TaskAssignment::getSpecialCountAtDraw).toArray();
+		List<Long> replayed = SpecialTaskSampler.sample(boardIds, 4, normal.get(0).getSessionSeed(), counts);
+		assertEquals(nameIds(taskService.getSpecialTasks()), new HashSet<>(replayed));
+
+		// Only the published board's special tasks count
+		assertEquals(4, specialTaskTotal());
+		taskService.rollbackSession(null);
+		assertEquals(4, specialTaskTotal());
+		for (Long id : firstSpecial) {
+			assertEquals(1, nameRepository.findById(id).orElseThrow().getSpecialTaskCount());
+		}
+	}
+
+	@Test
+	void regenerateReplacesOnlyTheDroppedName() {
+		addNames(8);
+		taskService.generateTasks(4);
+		for (TaskAssignment task : taskService.getNormalTasks()) {
+			taskService.updateTask(task.getId(), "Task of " + task.getName().getId(), null);
+		}
+		Set<Long> board = nameIds(taskService.getNormalTasks());
+		Long absent = taskService.getSpecialTasks().get(0).getName().getId();
+
+		int written = taskService.regenerateTasks(null, List.of(absent), List.of());
+
+		assertEquals(2, written);
+		List<TaskAssignment> normal = taskService.getNormalTasks();
+		Set<Long> newBoard = nameIds(normal);
+		assertEquals(4, newBoard.size());
+		assertEquals(5, union(board, newBoard).size());
+		Long replacement = newBoard.stream().filter(id -> !board.contains(id)).findFirst().orElseThrow();
+		for (TaskAssignment task : normal) {
+			Long nameId = task.getName().getId();
+			assertEquals("Task of " + (nameId.equals(replacement) ? absent : nameId), task.getTaskName());
+		}
+		Set<Long> special = nameIds(taskService.getSpecialTasks());
+		assertEquals(4, special.size());
+		assertEquals(true, special.contains(replacement));
+
+		// The changed board is a new version: the dropped name no longer counts, and the old
+		// board can be restored
+		Name dropped = nameRepository.findById(absent).orElseThrow();
+		assertEquals(0, dropped.getDisplayCount());
+		assertEquals(0, dropped.getSpecialTaskCount());
+		assertEquals(1, nameRepository.findById(replacement).orElseThrow().getDisplayCount());
+		taskService.rollbackSession(null);
+		assertEquals(board, nameIds(taskService.getNormalTasks()));
+	}
+
+	@Test
+	void cachedBoardChangesVersionOnlyWhenTheBoardChanges() {
+		addNames(6);
+		taskService.generateTasks(4);
+
+		TaskBoardCache.CachedBoard first = taskService.getCachedBoard(null);
+		assertEquals(first.getEtag(), taskService.getCachedBoard(null).getEtag());
+
+		// Callers get a copy; changing it leaves the cached board alone
+		TaskDto task = first.getBoard().getNormalTasks().get(0);
+		task.setTaskName("Changed by a caller");
+		assertEquals("", first.getBoard().getNormalTasks().get(0).getTaskName());
+
+		taskService.updateTask(task.getId(), "Sweep the hall", null);
+
+		TaskBoardCache.CachedBoard second = taskService.getCachedBoard(null);
+		assertNotEquals(first.getEtag(), second.getEtag());
+		assertEquals("Sweep the hall", second.getBoard().getNormalTasks().get(0).getTaskName());
+
+		taskService.clearTodayTasks();
+		assertEquals(0, taskService.getBoard(null).getNormalTasks().size());
+	}
+
+	@Test
+	void batchUpdateRenamesTasksAndSyncsSpecialTasks() {
+		addNames(6);
+		taskService.generateTasks(4);
+		List<TaskAssignment> normal = taskService.getNormalTasks();
+		Set<Long> board = nameIds(normal);
+		Long specialHolder = taskService.getSpecialTasks().get(0).getName().getId();
+		Long outsider = nameRepository.findAll().stream()
+				.map(Name::getId).filter(id -> !board.contains(id)).findFirst().orElseThrow();
+
+		List<TaskUpdateRequest> updates = new ArrayList<>();
+		for (TaskAssignment task : normal) {
+			Long newNameId = task.getName().getId().equals(specialHolder) ? outsider : null;
+			updates.add(new TaskUpdateRequest(task.getId(), "Task " + task.getId(), newNameId));
+		}
+		List<TaskDto> changed = taskService.updateTasks(updates);
+		TaskDto replaced = changed.stream()
+				.filter(task -> outsider.equals(task.getNameId()) && !task.getIsSpecialTask())
+				.findFirst().orElseThrow();
+		assertEquals(nameRepository.findById(outsider).orElseThrow().getName(), replaced.getName());
+
+		for (TaskAssignment task : taskService.getNormalTasks()) {
+			assertEquals("Task " + task.getId(), task.getTaskName());
+		}
+		Set<Long> special = nameIds(taskService.getSpecialTasks());
+		assertEquals(true, special.contains(outsider));
+		assertEquals(false, special.contains(specialHolder));
+	}
+
+	private static Set<Long> nameIds(List<TaskAssignment> tasks) {
+		return tasks.stream().map(task -> task.getName().getId()).collect(Collectors.toSet());
+	}
+
+	private static Set<Long> union(Set<Long> a, Set<Long> b) {
+		Set<Long> all = new HashSet<>(a);
+		all.addAll(b);
+		return all;
+	}
+
+	private List<Boolean> runConcurrently(int calls, Callable<Boolean> call) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(calls);
+		try {
+			List<Future<Boolean>> futures = new ArrayList<>();
+			for (int i = 0; i < calls; i++) {
+				futures.add(executor.submit(call));
+			}
+			List<Boolean> results = new ArrayList<>();
+			for (Future<Boolean> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private int specialTaskTotal() {
+		return nameRepository.findAll().stream().mapToInt(Name::getSpecialTaskCount).sum();
+	}
+
+	private void addNames(int count) {
+		for (int i = 0; i < count; i++) {
+			nameService.addName("Member " + i);
+		}
+	}
+
+	private Set<Long> normalNameIds(LocalDate date) {
+		return nameIds(taskAssignmentRepository.findCurrentBySessionKeyAndIsSpecialTask(date + ":default", date, false));
+	}
+}
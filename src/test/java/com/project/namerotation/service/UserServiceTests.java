@@ -0,0 +1,131 @@
+package com.project.namerotation.service;
+
+import com.project.namerotation.dto.UserDto;
+import com.project.namerotation.repository.GenerationRequestRepository;
+import com.project.namerotation.repository.NameRepository;
+import com.project.namerotation.repository.RotationPoolRepository;
+import com.project.namerotation.repository.RotationSessionRepository;
+import com.project.namerotation.repository.SessionLockRepository;
+import com.project.namerotation.repository.TaskAssignmentRepository;
+import com.project.namerotation.repository.UserRepository;
+import com.project.namerotationsystem.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class UserServiceTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private NameService nameService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private NameRepository nameRepository;
+
+	@Autowired
+	private TaskAssignmentRepository taskAssignmentRepository;
+
+	@Autowired
+	private RotationPoolRepository rotationPoolRepository;
+
+	@Autowired
+	private GenerationRequestRepository generationRequestRepository;
+
+	@Autowired
+	private SessionLockRepository sessionLockRepository;
+
+	@Autowired
+	private RotationSessionRepository rotationSessionRepository;
+
+	@Autowired
+	private RotationEngine rotationEngine;
+
+	@Autowired
+	private NameRegistry nameRegistry;
+
+	@BeforeEach
+	void clearRoster() {
+		generationRequestRepository.deleteAllInBatch();
+		taskAssignmentRepository.deleteAllInBatch();
+		sessionLockRepository.deleteAllInBatch();
+		rotationSessionRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+		nameRepository.deleteAllInBatch();
+		rotationPoolRepository.deleteAllInBatch();
+		rotationEngine.invalidate();
+		nameRegistry.invalidate();
+	}
+
+	// Other test classes clear the names without their accounts
+	@AfterEach
+	void removeAccounts() {
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void bulkAccountsAreCheckedUpFrontAndCreatedTogether() {
+		List<UserDto> accounts = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			Long nameId = nameService.addName("Member " + i).getId();
+			accounts.add(account("member" + i, nameId));
+		}
+
+		// One taken name fails the whole batch
+		List<UserDto> clashing = new ArrayList<>(accounts);
+		clashing.add(account("other", accounts.get(0).getNameId()));
+		assertThrows(RuntimeException.class, () -> userService.createBulkAccounts(clashing));
+		assertEquals(0, userRepository.count());
+
+		List<UserDto> created = userService.createBulkAccounts(accounts);
+		assertEquals(30, created.size());
+		assertEquals(accounts.get(29).getNameId(), created.get(29).getNameId());
+
+		User user = userRepository.findByUsername("member7").orElseThrow();
+		assertEquals("Member 7", user.getFullName());
+		assertTrue(userService.verifyPassword("secret7", user.getPassword()));
+
+		// Names and usernames are now taken
+		assertThrows(RuntimeException.class,
+				() -> userService.createBulkAccounts(List.of(account("member0", accounts.get(0).getNameId()))));
+		// A new username and email still cannot take a name that has an account
+		Long freeNameId = nameService.addName("Member 30").getId();
+		RuntimeException linked = assertThrows(RuntimeException.class,
+				() -> userService.createBulkAccounts(List.of(account("new1", freeNameId),
+						account("new2", accounts.get(3).getNameId()))));
+		assertEquals("Name already has a user account: Member 3", linked.getMessage());
+		assertEquals(30, userRepository.count());
+
+		// A deleted (inactive) account still holds its name: users.name_id is unique
+		userService.deleteUser(userRepository.findByUsername("member3").orElseThrow().getId());
+		RuntimeException inactive = assertThrows(RuntimeException.class,
+				() -> userService.createUserForExistingName(account("new3", accounts.get(3).getNameId())));
+		assertEquals("Name already has a user account", inactive.getMessage());
+		assertThrows(RuntimeException.class,
+				() -> userService.createBulkAccounts(List.of(account("new3", accounts.get(3).getNameId()))));
+		assertEquals(30, userRepository.count());
+	}
+
+	private static UserDto account(String username, Long nameId) {
+		UserDto account = new UserDto();
+		account.setUsername(username);
+		account.setEmail(username + "@example.com");
+		account.setPassword("secret" + username.substring(username.length() - 1));
+		account.setNameId(nameId);
+		return account;
+	}
+}
@@ -0,0 +1,34 @@
+package com.project.namerotation.simulation;
+
+import com.project.namerotation.service.RotationQueue;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RotationSimulatorTests {
+
+	@Test
+	void lastDisplayedModeIsAPerfectRoundRobin() {
+		RotationSimulator.SimulationResult result =
+				RotationSimulator.run(100, 50, 10, RotationQueue.Mode.LAST_DISPLAYED, 0, 1L);
+
+		assertEquals(10, result.getMaxGap());
+		assertEquals(0, result.getNeverShown());
+		assertEquals(0.0, result.getDisplayCountGini(), 1e-9);
+		assertTrue(result.getSpecialCountSpread() <= 1);
+	}
+
+	@Test
+	void weightedModeShowsDoubleWeightNamesTwiceAsOften() {
+		RotationSimulator.SimulationResult result =
+				RotationSimulator.run(1000, 200, 40, RotationQueue.Mode.WEIGHTED, 0.2, 1L);
+
+		// 800 names at weight 1 and about 200 at weight 2 share 8000 shows: about 6.7 and 13.3
+		double ratio = result.getAverageDisplayCount(2) / result.getAverageDisplayCount(1);
+		assertEquals(2.0, ratio, 0.1);
+		assertEquals(0, result.getNeverShown());
+		// A weight 1 name waits about 1200 / 40 = 30 days between shows
+		assertTrue(result.getMaxGap() <= 35, "max gap " + result.getMaxGap());
+	}
+}